@@ -0,0 +1,83 @@
+package com.expensestracker.benchmark;
+
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.Transaction;
+import com.expensestracker.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory data for the benchmarks: one user with a few accounts and
+ * categories and a year of transactions ending at {@link #END_DATE}, built from detached
+ * entities exactly as the service layer sees them after a fetch.
+ */
+public final class TransactionFixtures {
+    
+    public static final Long USER_ID = 1L;
+    public static final LocalDate END_DATE = LocalDate.of(2024, 12, 31);
+    public static final LocalDate START_DATE = END_DATE.minusYears(1).plusDays(1);
+    
+    private final List<Transaction> transactions;
+    
+    private TransactionFixtures(List<Transaction> transactions) {
+        this.transactions = transactions;
+    }
+    
+    public static TransactionFixtures generate(int count) {
+        Random random = new Random(42);
+        User user = User.builder().userId(USER_ID).name("Bench").email("bench@example.com").password("-").build();
+        
+        List<Account> accounts = List.of(
+                account(user, 1L, "Checking", Account.AccountType.BANK_ACCOUNT),
+                account(user, 2L, "Cash", Account.AccountType.CASH),
+                account(user, 3L, "Card", Account.AccountType.CREDIT_CARD));
+        List<Category> categories = List.of(
+                category(user, 1L, "Salary", Category.CategoryType.INCOME, null),
+                category(user, 2L, "Freelance", Category.CategoryType.INCOME, null),
+                category(user, 3L, "Rent", Category.CategoryType.EXPENSE, Category.CategoryClassification.NEED),
+                category(user, 4L, "Groceries", Category.CategoryType.EXPENSE, Category.CategoryClassification.NEED),
+                category(user, 5L, "Transport", Category.CategoryType.EXPENSE, Category.CategoryClassification.NEED),
+                category(user, 6L, "Dining", Category.CategoryType.EXPENSE, Category.CategoryClassification.WANT),
+                category(user, 7L, "Travel", Category.CategoryType.EXPENSE, Category.CategoryClassification.WANT),
+                category(user, 8L, "Hobbies", Category.CategoryType.EXPENSE, Category.CategoryClassification.WANT));
+        
+        int days = (int) (END_DATE.toEpochDay() - START_DATE.toEpochDay()) + 1;
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Roughly one income for every nine expenses
+            Category category = categories.get(i % 10 == 0 ? random.nextInt(2) : 2 + random.nextInt(6));
+            boolean income = category.getType() == Category.CategoryType.INCOME;
+            transactions.add(Transaction.builder()
+                    .transactionId((long) i + 1)
+                    .account(accounts.get(random.nextInt(accounts.size())))
+                    .userId(USER_ID)
+                    .category(category)
+                    .amount(BigDecimal.valueOf(100 + random.nextInt(income ? 500_000 : 20_000), 2))
+                    .transactionType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE)
+                    .transactionDate(START_DATE.plusDays(random.nextInt(days)))
+                    .description("Fixture transaction " + i)
+                    .build());
+        }
+        return new TransactionFixtures(transactions);
+    }
+    
+    public List<Transaction> transactions() {
+        return transactions;
+    }
+    
+    private static Account account(User user, Long id, String name, Account.AccountType type) {
+        return Account.builder().accountId(id).user(user).accountName(name).accountType(type)
+                .balance(BigDecimal.ZERO).build();
+    }
+    
+    private static Category category(User user, Long id, String name, Category.CategoryType type,
+                                     Category.CategoryClassification classification) {
+        return Category.builder().categoryId(id).user(user).name(name).type(type)
+                .classification(classification).build();
+    }
+}
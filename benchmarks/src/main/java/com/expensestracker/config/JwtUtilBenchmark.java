@@ -0,0 +1,64 @@
+package com.expensestracker.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil token generation and validation. "verifyCached" is the steady state for a returning
+ * client (signature checked once per token); "verifyUncached" is the first request with a token,
+ * measured against a JwtUtil whose cache never holds anything.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+    
+    private static final int TOKENS = 1024;
+    
+    private JwtUtil jwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String[] tokens;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil(10_000);
+        uncachedJwtUtil = new JwtUtil(0);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtUtil.generateToken("user" + i + "@example.com", (long) i);
+            jwtUtil.verifyToken(tokens[i]);
+        }
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user@example.com", 42L);
+    }
+    
+    @Benchmark
+    public JwtUtil.VerifiedToken verifyCached() {
+        return jwtUtil.verifyToken(nextToken());
+    }
+    
+    @Benchmark
+    public JwtUtil.VerifiedToken verifyUncached() {
+        return uncachedJwtUtil.verifyToken(nextToken());
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        int index = next;
+        return jwtUtil.validateToken(nextToken(), "user" + index + "@example.com");
+    }
+    
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1) % TOKENS;
+        return token;
+    }
+}
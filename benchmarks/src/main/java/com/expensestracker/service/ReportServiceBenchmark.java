@@ -0,0 +1,92 @@
+package com.expensestracker.service;
+
+import com.expensestracker.config.SyntheticDataGenerator;
+import com.expensestracker.dto.response.ReportResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportService.generateMonthlyReport end to end: the application context runs against an
+ * in-memory H2 database (MySQL mode, the schema from the Flyway migrations) holding one user
+ * with a year of transactions, loaded by SyntheticDataGenerator together with its monthly
+ * rollups. So the repository queries, their indexes and the merge in ReportService are all
+ * measured; H2 stands in for MySQL, so compare runs with each other, not with production.
+ * "fullMonths" reads eleven whole months from monthly_rollup only; "partialMonths" also
+ * aggregates the raw transactions of both edge months.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ReportServiceBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int transactions;
+    
+    @Param({"fullMonths", "partialMonths"})
+    private String range;
+    
+    private ConfigurableApplicationContext context;
+    private ReportService reportService;
+    private Long userId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments, so they override application.properties
+        context = new SpringApplicationBuilder(ExpensesTrackerApiApplication.class)
+                .profiles("seed")
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:report_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=validate",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--transactions.partitioning.enabled=false",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        // The default profile logs every statement and bind; keep that out of the timings
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        // One user, one account: exactly the requested number of transactions over a year
+                        "--seed.users=1",
+                        "--seed.accounts-per-user=1",
+                        "--seed.transactions-per-account=" + transactions,
+                        "--seed.days=365");
+        userId = context.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT user_id FROM users WHERE email = ?", Long.class, SyntheticDataGenerator.email(1));
+        reportService = context.getBean(ReportService.class);
+        
+        // The seeded year covers the eleven months before the current one completely
+        YearMonth first = YearMonth.now().minusMonths(11);
+        YearMonth last = YearMonth.now().minusMonths(1);
+        boolean fullMonths = "fullMonths".equals(range);
+        startDate = fullMonths ? first.atDay(1) : first.atDay(15);
+        endDate = fullMonths ? last.atEndOfMonth() : last.atDay(14);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public ReportResponse generateMonthlyReport() {
+        return reportService.generateMonthlyReport(userId, startDate, endDate);
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensestracker.service;
+
+import com.expensestracker.benchmark.TransactionFixtures;
+import com.expensestracker.dto.response.TransactionResponse;
+import com.expensestracker.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionMapper.toResponse, the entity-to-DTO step behind every list, page and export.
+ * "single" is the per-row cost; "all" maps the whole fixture, as a full history listing does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class TransactionMappingBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    private int transactions;
+    
+    private List<Transaction> fixture;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = TransactionFixtures.generate(transactions).transactions();
+    }
+    
+    @Benchmark
+    public TransactionResponse single() {
+        Transaction transaction = fixture.get(next);
+        next = next + 1 == fixture.size() ? 0 : next + 1;
+        return TransactionMapper.toResponse(transaction);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void all(Blackhole blackhole) {
+        for (Transaction transaction : fixture) {
+            blackhole.consume(TransactionMapper.toResponse(transaction));
+        }
+    }
+}
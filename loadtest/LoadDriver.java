@@ -0,0 +1,213 @@
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal closed-loop HTTP load driver for the API. Runs as a single-file program (JDK 17+):
+ *
+ *   java loadtest/LoadDriver.java <baseUrl> <label> [concurrency] [seconds] [resultsFile] [users]
+ *
+ * With users = 0 (default) every client logs in as the seeded admin user. With users = N the
+ * clients log in as the synthetic users loadtest-user-1..N@example.com created by the "seed"
+ * profile (SyntheticDataGenerator; password from -Dloadtest.password, default Welcome1!),
+ * client c acting as user c % N. Each client then loops over the same fixed request mix, so
+ * runs are comparable. Prints throughput, error count and p50/p95/p99 latency per endpoint and
+ * appends one line per endpoint to the results file so runs under different modes can be compared.
+ */
+public class LoadDriver {
+    
+    private record Endpoint(String name, String method, String path) {
+    }
+    
+    private static final Endpoint[] ENDPOINTS = {
+            new Endpoint("transactions", "GET", "/api/transactions"),
+            new Endpoint("transactions-page", "GET", "/api/transactions/page?size=50"),
+            new Endpoint("report-summary", "GET", "/api/reports/summary"),
+            new Endpoint("budgets", "GET", "/api/budgets"),
+            new Endpoint("login", "POST", "/api/auth/login")
+    };
+    
+    // Request mix every client cycles through (indexes into ENDPOINTS): list-heavy reads,
+    // with a login (a BCrypt check on the server) once per cycle
+    private static final int[] MIX = {1, 0, 2, 1, 3, 1, 2, 0, 1, 3, 1, 2, 1, 0, 3, 1, 2, 1, 3, 4};
+    
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: java LoadDriver.java <baseUrl> <label> [concurrency] [seconds] [resultsFile] [users]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        String label = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        Path resultsFile = Path.of(args.length > 4 ? args[4] : "loadtest/results.txt");
+        int users = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        String password = System.getProperty("loadtest.password", "Welcome1!");
+        
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 4)))
+                .build();
+        
+        awaitReady(client, baseUrl);
+        List<String[]> sessions = new ArrayList<>();
+        if (users == 0) {
+            sessions.add(login(client, baseUrl, "admin@example.com", "Welcome1!"));
+        } else {
+            for (int u = 1; u <= Math.min(users, concurrency); u++) {
+                sessions.add(login(client, baseUrl, "loadtest-user-" + u + "@example.com", password));
+            }
+        }
+        
+        List<List<Long>> latencies = new ArrayList<>();
+        AtomicLong[] errors = new AtomicLong[ENDPOINTS.length];
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            latencies.add(new ArrayList<>());
+            errors[i] = new AtomicLong();
+        }
+        
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        List<Future<long[][]>> futures = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            int offset = c;
+            String[] session = sessions.get(c % sessions.size());
+            futures.add(clients.submit(() -> {
+                List<List<Long>> local = new ArrayList<>();
+                for (int i = 0; i < ENDPOINTS.length; i++) {
+                    local.add(new ArrayList<>());
+                }
+                int n = offset;
+                while (System.nanoTime() < deadline) {
+                    int idx = MIX[n++ % MIX.length];
+                    HttpRequest request = request(baseUrl, ENDPOINTS[idx], session);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors[idx].incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors[idx].incrementAndGet();
+                    }
+                    local.get(idx).add(System.nanoTime() - start);
+                }
+                long[][] result = new long[ENDPOINTS.length][];
+                for (int i = 0; i < ENDPOINTS.length; i++) {
+                    result[i] = local.get(i).stream().mapToLong(Long::longValue).toArray();
+                }
+                return result;
+            }));
+        }
+        
+        for (Future<long[][]> future : futures) {
+            long[][] result = future.get();
+            for (int i = 0; i < ENDPOINTS.length; i++) {
+                for (long value : result[i]) {
+                    latencies.get(i).add(value);
+                }
+            }
+        }
+        clients.shutdown();
+        
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            long[] sorted = latencies.get(i).stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            String line = String.format("%s label=%s concurrency=%d users=%d endpoint=%s requests=%d rps=%.1f errors=%d p50=%.1fms p95=%.1fms p99=%.1fms",
+                    LocalDateTime.now().withNano(0), label, concurrency, sessions.size(), ENDPOINTS[i].name(), sorted.length,
+                    sorted.length / (double) seconds, errors[i].get(),
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99));
+            System.out.println(line);
+            lines.add(line);
+        }
+        
+        if (resultsFile.getParent() != null) {
+            Files.createDirectories(resultsFile.getParent());
+        }
+        Files.write(resultsFile, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        System.exit(0);
+    }
+    
+    // Session is {token, userId, login body}
+    private static HttpRequest request(String baseUrl, Endpoint endpoint, String[] session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path()))
+                .timeout(Duration.ofSeconds(30));
+        if ("POST".equals(endpoint.method())) {
+            return builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(session[2]))
+                    .build();
+        }
+        return builder.header("Authorization", "Bearer " + session[0])
+                .header("userId", session[1])
+                .GET()
+                .build();
+    }
+    
+    private static String[] login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode() + " " + response.body());
+        }
+        return new String[] { field(response.body(), "token"), field(response.body(), "userId"), body };
+    }
+    
+    // Readiness only turns UP once startup work (e.g. seeding) is done; wait up to 10 minutes
+    private static void awaitReady(HttpClient client, String baseUrl) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(10).toNanos();
+        while (true) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("API at " + baseUrl + " did not become ready");
+            }
+            Thread.sleep(2000);
+        }
+    }
+    
+    private static String field(String json, String name) {
+        Matcher m = Pattern.compile("\"" + name + "\"\\s*:\\s*\"?([^\",}]+)").matcher(json);
+        if (!m.find()) {
+            throw new IllegalStateException("No " + name + " in login response: " + json);
+        }
+        return m.group(1);
+    }
+    
+    private static double percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,26 @@
+@echo off
+REM Compares platform-thread and virtual-thread request handling under the same load.
+REM Needs a JDK 21 on PATH and the MySQL database from init.sql running.
+REM Usage: loadtest\compare-thread-modes.bat [concurrency] [seconds]
+cd /d %~dp0..
+
+set CONCURRENCY=%1
+if "%CONCURRENCY%"=="" set CONCURRENCY=200
+set SECONDS=%2
+if "%SECONDS%"=="" set SECONDS=30
+
+call mvn -q -Pvirtual-threads -DskipTests package || exit /b 1
+
+echo === Platform threads ===
+start "api-platform" java -jar target/expense-tracker-api-1.0.0.jar
+timeout /t 20
+java loadtest/LoadDriver.java http://localhost:8080 platform %CONCURRENCY% %SECONDS% loadtest/results.txt
+taskkill /fi "WINDOWTITLE eq api-platform*" /t /f
+
+echo === Virtual threads ===
+start "api-virtual" java -jar target/expense-tracker-api-1.0.0.jar --spring.profiles.active=virtual
+timeout /t 20
+java loadtest/LoadDriver.java http://localhost:8080 virtual %CONCURRENCY% %SECONDS% loadtest/results.txt
+taskkill /fi "WINDOWTITLE eq api-virtual*" /t /f
+
+echo Results appended to loadtest\results.txt
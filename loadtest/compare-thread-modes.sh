@@ -0,0 +1,56 @@
+#!/usr/bin/env sh
+# Compares platform-thread and virtual-thread request handling under the same load.
+# Portable counterpart of compare-thread-modes.bat (Linux/macOS, needs curl).
+# Needs a JDK 21 on PATH and the MySQL database from init.sql running.
+# Usage: loadtest/compare-thread-modes.sh [concurrency] [seconds]
+#
+# No comparison has been recorded yet. Outstanding, per endpoint and per mode (platform vs
+# virtual) at the default 200 clients for 30 s: requests/s, error and 503 counts, and
+# p50/p95/p99 latency, plus the same at a concurrency above the Hikari pool size.
+set -eu
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-200}
+SECONDS_TO_RUN=${2:-30}
+JAR=target/expense-tracker-api-1.0.0.jar
+
+mvn -q -Pvirtual-threads -DskipTests package
+
+# Starts the API with the given extra arguments and waits until it reports ready
+start_api() {
+    java -jar "$JAR" "$@" > "loadtest/api-$LABEL.log" 2>&1 &
+    API_PID=$!
+    for _ in $(seq 1 120); do
+        if curl -sf http://localhost:8080/actuator/health/readiness > /dev/null; then
+            return 0
+        fi
+        if ! kill -0 "$API_PID" 2> /dev/null; then
+            echo "API exited during startup, see loadtest/api-$LABEL.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+    echo "API not ready after 120 s, see loadtest/api-$LABEL.log" >&2
+    kill "$API_PID"
+    exit 1
+}
+
+stop_api() {
+    kill "$API_PID"
+    wait "$API_PID" 2> /dev/null || true
+}
+
+for LABEL in platform virtual; do
+    echo "=== $LABEL threads ==="
+    if [ "$LABEL" = virtual ]; then
+        start_api --spring.profiles.active=virtual
+    else
+        start_api
+    fi
+    trap stop_api EXIT
+    java loadtest/LoadDriver.java http://localhost:8080 "$LABEL" "$CONCURRENCY" "$SECONDS_TO_RUN" loadtest/results.txt
+    stop_api
+    trap - EXIT
+done
+
+echo "Results appended to loadtest/results.txt"
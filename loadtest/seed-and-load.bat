@@ -0,0 +1,23 @@
+@echo off
+REM Seeds synthetic users into the database, then runs the load driver against them.
+REM Needs the MySQL database from init.sql running. Seeding is skipped when the data exists,
+REM so repeated runs hit the same data set.
+REM Usage: loadtest\seed-and-load.bat [users] [concurrency] [seconds] [label]
+cd /d %~dp0..
+
+set USERS=%1
+if "%USERS%"=="" set USERS=100
+set CONCURRENCY=%2
+if "%CONCURRENCY%"=="" set CONCURRENCY=100
+set SECONDS=%3
+if "%SECONDS%"=="" set SECONDS=60
+set LABEL=%4
+if "%LABEL%"=="" set LABEL=seeded
+
+call mvn -q -DskipTests package || exit /b 1
+
+start "api-seeded" java -jar target/expense-tracker-api-1.0.0.jar --spring.profiles.active=seed,prod --seed.users=%USERS%
+java loadtest/LoadDriver.java http://localhost:8080 %LABEL% %CONCURRENCY% %SECONDS% loadtest/results.txt %USERS%
+taskkill /fi "WINDOWTITLE eq api-seeded*" /t /f
+
+echo Results appended to loadtest\results.txt
@@ -0,0 +1,33 @@
+#!/usr/bin/env sh
+# Seeds synthetic users into the database, then runs the load driver against them.
+# Portable counterpart of seed-and-load.bat (Linux/macOS, needs curl).
+# Needs the MySQL database from init.sql running. Seeding is skipped when the data exists,
+# so repeated runs hit the same data set.
+# Usage: loadtest/seed-and-load.sh [users] [concurrency] [seconds] [label]
+set -eu
+cd "$(dirname "$0")/.."
+
+USERS=${1:-100}
+CONCURRENCY=${2:-100}
+SECONDS_TO_RUN=${3:-60}
+LABEL=${4:-seeded}
+
+mvn -q -DskipTests package
+
+java -jar target/expense-tracker-api-1.0.0.jar --spring.profiles.active=seed,prod --seed.users="$USERS" \
+    > loadtest/api-seeded.log 2>&1 &
+API_PID=$!
+trap 'kill "$API_PID"; wait "$API_PID" 2> /dev/null || true' EXIT
+
+# Readiness stays down until seeding has finished
+until curl -sf http://localhost:8080/actuator/health/readiness > /dev/null; do
+    if ! kill -0 "$API_PID" 2> /dev/null; then
+        echo "API exited during startup, see loadtest/api-seeded.log" >&2
+        exit 1
+    fi
+    sleep 2
+done
+
+java loadtest/LoadDriver.java http://localhost:8080 "$LABEL" "$CONCURRENCY" "$SECONDS_TO_RUN" loadtest/results.txt "$USERS"
+
+echo "Results appended to loadtest/results.txt"
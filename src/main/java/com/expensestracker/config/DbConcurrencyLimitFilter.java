@@ -0,0 +1,133 @@
+package com.expensestracker.config;
+
+import com.expensestracker.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of API requests doing database work at once. With virtual threads there is
+ * no worker-pool limit, so without this every request would park on the Hikari pool until its
+ * connection timeout; here excess requests wait briefly for a permit and are then rejected
+ * with 503 instead. A request that goes async holds its permit until the async response
+ * completes; a streamed export keeps its pooled connection that long, so it counts for that
+ * long. Endpoints that never open a connection are not limited: the auth endpoints (bounded
+ * by the password hashing pool, whose work would otherwise hold a permit), the category list
+ * (served from the in-memory cache), and the in-memory admin switches. Enabled by the
+ * "virtual" profile.
+ */
+@Component
+@ConditionalOnProperty(name = "db.concurrency.limit.enabled", havingValue = "true")
+public class DbConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(DbConcurrencyLimitFilter.class);
+    
+    // Request-path prefixes served without a database connection, any method
+    private static final List<String> NO_DB_PREFIXES = List.of("/api/auth/", "/api/admin/caches",
+            "/api/admin/debug-logging/");
+    
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+    private final ObjectMapper objectMapper;
+    
+    public DbConcurrencyLimitFilter(@Value("${db.concurrency.limit.permits}") int permits,
+                                    @Value("${db.concurrency.limit.acquire-timeout-ms:2000}") long acquireTimeoutMillis,
+                                    ObjectMapper objectMapper) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.objectMapper = objectMapper;
+        log.info("DB concurrency limit enabled: {} permits, {} ms acquire timeout", permits, acquireTimeoutMillis);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !usesDatabase(request.getMethod(), request.getRequestURI());
+    }
+    
+    static boolean usesDatabase(String method, String uri) {
+        if (!uri.startsWith("/api/")) {
+            return false;
+        }
+        if ("GET".equals(method) && (uri.equals("/api/categories") || uri.equals("/api/categories/"))) {
+            return false;
+        }
+        return NO_DB_PREFIXES.stream().noneMatch(uri::startsWith);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        
+        if (!acquired) {
+            log.warn("Rejecting {} {}: database concurrency limit reached", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader("Retry-After", "1");
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Server busy, please retry"));
+            return;
+        }
+        
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Async handlers (streamed exports, register/login on the hashing pool) keep doing
+            // database work after this returns: hold the permit until the response completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permits.release();
+            }
+        }
+    }
+    
+    // onComplete also follows a timeout or error, so it is the single release point
+    private class ReleaseOnComplete implements AsyncListener {
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next async cycle of the same request
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensestracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns on DEBUG logging for a single request, without touching logger levels: the request
+ * is marked in the MDC and the DynamicThresholdFilter in logback-spring.xml lets every DEBUG
+ * event on that thread through. A request is marked when it carries the X-Debug-Logging
+ * header with the configured token, or comes from a user switched on at runtime
+ * (POST /api/admin/debug-logging/users/{userId}, which needs the same token in the header).
+ * With no token configured the header is ignored and users cannot be switched on.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DebugLoggingFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(DebugLoggingFilter.class);
+    
+    public static final String HEADER = "X-Debug-Logging";
+    // Must match the MDCKey in logback-spring.xml
+    public static final String MDC_KEY = "debugLogging";
+    
+    private final byte[] token;
+    private final Set<Long> debugUsers = ConcurrentHashMap.newKeySet();
+    
+    public DebugLoggingFilter(@Value("${logging.debug-header.token:}") String token) {
+        this.token = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    public void enableForUser(Long userId) {
+        debugUsers.add(userId);
+        log.info("DEBUG logging enabled for requests of user {}", userId);
+    }
+    
+    public void disableForUser(Long userId) {
+        debugUsers.remove(userId);
+        log.info("DEBUG logging disabled for requests of user {}", userId);
+    }
+    
+    public Set<Long> debugUsers() {
+        return Set.copyOf(debugUsers);
+    }
+    
+    // Constant-time comparison; always false when no token is configured
+    public boolean matchesToken(String presented) {
+        return presented != null && token != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!shouldDebug(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+    
+    boolean shouldDebug(HttpServletRequest request) {
+        if (matchesToken(request.getHeader(HEADER))) {
+            return true;
+        }
+        if (debugUsers.isEmpty()) {
+            return false;
+        }
+        // Same userId header the controllers take the caller from
+        String userId = request.getHeader("userId");
+        try {
+            return userId != null && debugUsers.contains(Long.valueOf(userId));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
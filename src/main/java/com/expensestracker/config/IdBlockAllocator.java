@@ -0,0 +1,94 @@
+package com.expensestracker.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out primary keys from the id_generator table in blocks (see V5 migration and
+ * {@link PooledId}), for Hibernate and for rows written with plain JDBC alike.
+ *
+ * Reservations go through a dedicated two-connection pool and commit on their own. Hibernate's
+ * TableGenerator borrows a second connection from the main pool instead, and with every
+ * connection held by writers queued behind the one fetching a block, that fetch can never get
+ * one. Ids reserved by a transaction that later rolls back are simply skipped.
+ */
+@Component
+public class IdBlockAllocator implements HibernatePropertiesCustomizer {
+    
+    // Session factory setting under which PooledIdGenerator finds this context's allocator
+    static final String SETTING = "expenses.id-block-allocator";
+    
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    
+    public IdBlockAllocator(DataSourceProperties dataSourceProperties,
+                            MeterRegistry meterRegistry,
+                            @Value("${ids.block-size:50}") int blockSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("id-allocator");
+        this.dataSource.setMaximumPoolSize(2);
+        this.dataSource.setMinimumIdle(1);
+        // Not a bean, so Boot does not bind it: hikaricp.* metrics tagged pool=id-allocator
+        this.dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.blockSize = blockSize;
+    }
+    
+    // Hibernate instantiates PooledIdGenerator outside the Spring context; hand it this
+    // allocator through the session factory's settings rather than a static, so every
+    // application context (and database) keeps its own
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(SETTING, this);
+    }
+    
+    // Next id from this JVM's current block, reserving a new block when it runs out
+    public long next(String sequenceName) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        synchronized (block) {
+            if (block.next > block.last) {
+                block.next = reserve(sequenceName, blockSize);
+                block.last = block.next + blockSize - 1;
+            }
+            return block.next++;
+        }
+    }
+    
+    // Reserves count consecutive ids and returns the first
+    public long reserve(String sequenceName, int count) {
+        Long first = transactionTemplate.execute(status -> {
+            Long lastId = jdbcTemplate.queryForObject(
+                    "SELECT last_id FROM id_generator WHERE sequence_name = ? FOR UPDATE", Long.class, sequenceName);
+            jdbcTemplate.update("UPDATE id_generator SET last_id = ? WHERE sequence_name = ?",
+                    lastId + count, sequenceName);
+            return lastId + 1;
+        });
+        return first;
+    }
+    
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+    
+    private static final class Block {
+        private long next = 1;
+        private long last = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.expensestracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer wiring beyond what Spring Boot auto-configures (HTTP requests, Spring Data
+ * repository invocations, Hikari pools). Services annotated with @Timed("expenses.service")
+ * get a timer per public method, tagged with class, method and exception.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
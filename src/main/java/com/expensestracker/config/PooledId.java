@@ -0,0 +1,21 @@
+package com.expensestracker.config;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Primary key drawn in blocks from the named id_generator row by {@link IdBlockAllocator}.
+ * Ids are known before the INSERT, so Hibernate can batch inserts (IDENTITY cannot).
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledId {
+    
+    // sequence_name of the id_generator row
+    String value();
+}
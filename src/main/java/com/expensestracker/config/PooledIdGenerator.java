@@ -0,0 +1,30 @@
+package com.expensestracker.config;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+// Hibernate side of @PooledId
+public class PooledIdGenerator implements IdentifierGenerator {
+    
+    private final String sequenceName;
+    private final IdBlockAllocator allocator;
+    
+    public PooledIdGenerator(PooledId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.value();
+        Object allocator = context.getServiceRegistry().getService(ConfigurationService.class)
+                .getSettings().get(IdBlockAllocator.SETTING);
+        if (!(allocator instanceof IdBlockAllocator)) {
+            throw new IllegalStateException("No IdBlockAllocator registered under " + IdBlockAllocator.SETTING);
+        }
+        this.allocator = (IdBlockAllocator) allocator;
+    }
+    
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return allocator.next(sequenceName);
+    }
+}
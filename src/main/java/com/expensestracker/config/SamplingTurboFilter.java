@@ -0,0 +1,38 @@
+package com.expensestracker.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that keeps one in every sampleRate events of one logger and drops the rest,
+ * e.g. Hibernate's org.hibernate.SQL_SLOW, so a burst of slow queries cannot flood the log.
+ * Declared in logback-spring.xml. Other loggers are left alone.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    
+    private String loggerName;
+    private long sampleRate = 1;
+    private final AtomicLong seen = new AtomicLong();
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks; only actual events are counted
+        if (format == null || !logger.getName().equals(loggerName)) {
+            return FilterReply.NEUTRAL;
+        }
+        return seen.getAndIncrement() % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+    
+    public void setSampleRate(long sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+}
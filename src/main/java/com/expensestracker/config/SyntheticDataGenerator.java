@@ -0,0 +1,268 @@
+package com.expensestracker.config;
+
+import com.expensestracker.model.Account;
+import com.expensestracker.model.BalanceLedgerEntry;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.Transaction;
+import com.expensestracker.service.BudgetAlertService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Bulk-loads synthetic users for load testing ("seed" profile, settings under seed.* in
+ * application-seed.properties). Users are loadtest-user-{n}@example.com with one shared
+ * password, each with accounts, a category mix, transactions spread over the last seed.days
+ * days, current-month budgets, and the derived rows (balances, ledger, monthly rollups, budget
+ * counters) computed in memory, so nothing needs a rebuild afterwards. Rows are written with
+ * plain JDBC batches and ids reserved in blocks; the same seed.random-seed gives the same data.
+ * Skipped when the first user already exists.
+ */
+@Component
+@Profile("seed")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[][] INCOME_CATEGORIES = {{"Salary", null}, {"Freelance", null}};
+    private static final String[][] NEED_CATEGORIES = {{"Rent", "NEED"}, {"Groceries", "NEED"},
+            {"Utilities", "NEED"}, {"Transport", "NEED"}};
+    private static final String[][] WANT_CATEGORIES = {{"Dining", "WANT"}, {"Entertainment", "WANT"},
+            {"Shopping", "WANT"}, {"Travel", "WANT"}};
+    private static final Account.AccountType[] ACCOUNT_TYPES = {Account.AccountType.BANK_ACCOUNT,
+            Account.AccountType.CASH, Account.AccountType.CREDIT_CARD, Account.AccountType.GCASH};
+
+    private static final String USER_SQL =
+            "INSERT INTO users (user_id, name, email, password, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String ACCOUNT_SQL =
+            "INSERT INTO account (account_id, user_id, account_name, account_type, balance, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String CATEGORY_SQL =
+            "INSERT INTO category (category_id, user_id, name, type, classification) VALUES (?, ?, ?, ?, ?)";
+    private static final String TRANSACTION_SQL =
+            "INSERT INTO transaction (transaction_id, account_id, user_id, category_id, amount, transaction_date, " +
+            "description, transaction_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LEDGER_SQL =
+            "INSERT INTO balance_ledger (account_id, transaction_id, entry_type, amount_delta, entry_date, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ROLLUP_SQL =
+            "INSERT INTO monthly_rollup (user_id, category_id, month_start, transaction_type, total_amount, " +
+            "transaction_count) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String BUDGET_SQL =
+            "INSERT INTO budget (budget_id, user_id, category_id, amount_limit, start_date, end_date, spent_amount, " +
+            "alert_level) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final Settings settings;
+
+    // The constructor Spring uses; the other one lets tests pass settings directly
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  IdBlockAllocator idBlockAllocator,
+                                  PasswordEncoder passwordEncoder,
+                                  @Value("${seed.users:100}") int users,
+                                  @Value("${seed.accounts-per-user:3}") int accountsPerUser,
+                                  @Value("${seed.transactions-per-account:1000}") int transactionsPerAccount,
+                                  @Value("${seed.days:365}") int days,
+                                  @Value("${seed.income-share:0.1}") double incomeShare,
+                                  @Value("${seed.need-share:0.6}") double needShare,
+                                  @Value("${seed.password:Welcome1!}") String password,
+                                  @Value("${seed.batch-size:1000}") int batchSize,
+                                  @Value("${seed.random-seed:42}") long randomSeed) {
+        this(jdbcTemplate, idBlockAllocator, passwordEncoder, new Settings(users, accountsPerUser,
+                transactionsPerAccount, days, incomeShare, needShare, password, batchSize, randomSeed));
+    }
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate, IdBlockAllocator idBlockAllocator,
+                           PasswordEncoder passwordEncoder, Settings settings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idBlockAllocator = idBlockAllocator;
+        this.passwordEncoder = passwordEncoder;
+        this.settings = settings;
+    }
+
+    // The login email of synthetic user n (1-based), also used by loadtest/LoadDriver
+    public static String email(int n) {
+        return "loadtest-user-" + n + "@example.com";
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email = ?",
+                Integer.class, email(1));
+        if (existing != null && existing > 0) {
+            log.info("SyntheticDataGenerator: {} already exists, skipping", email(1));
+            return;
+        }
+        generate();
+    }
+
+    // Returns the number of transactions written
+    long generate() {
+        long started = System.currentTimeMillis();
+        log.info("SyntheticDataGenerator: {} users x {} accounts x {} transactions over {} days",
+                settings.users(), settings.accountsPerUser(), settings.transactionsPerAccount(), settings.days());
+
+        Random random = new Random(settings.randomSeed());
+        // BCrypt is deliberately slow; every synthetic user shares one hash
+        String passwordHash = passwordEncoder.encode(settings.password());
+        Batch batch = new Batch();
+        long transactions = 0;
+        for (int n = 1; n <= settings.users(); n++) {
+            transactions += generateUser(n, passwordHash, random, batch);
+            if (batch.transactions.size() >= settings.batchSize()) {
+                batch.flush();
+            }
+        }
+        batch.flush();
+
+        long millis = Math.max(1, System.currentTimeMillis() - started);
+        log.info("SyntheticDataGenerator: wrote {} users and {} transactions in {} ms ({} transactions/s)",
+                settings.users(), transactions, millis, transactions * 1000 / millis);
+        return transactions;
+    }
+
+    private long generateUser(int n, String passwordHash, Random random, Batch batch) {
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(settings.days() - 1L);
+        Timestamp createdAt = Timestamp.valueOf(firstDay.minusDays(1).atStartOfDay());
+
+        long userId = idBlockAllocator.next("users");
+        batch.users.add(new Object[]{userId, "Load Test User " + n, email(n), passwordHash, createdAt});
+
+        List<Long> incomeCategories = categories(userId, INCOME_CATEGORIES, Category.CategoryType.INCOME, batch);
+        List<Long> needCategories = categories(userId, NEED_CATEGORIES, Category.CategoryType.EXPENSE, batch);
+        List<Long> wantCategories = categories(userId, WANT_CATEGORIES, Category.CategoryType.EXPENSE, batch);
+
+        // (categoryId, month, type) -> [total cents, count]; categoryId -> current-month spend in cents
+        Map<String, long[]> rollups = new HashMap<>();
+        Map<Long, Long> spentThisMonth = new HashMap<>();
+        YearMonth currentMonth = YearMonth.from(today);
+        long count = 0;
+
+        for (int a = 0; a < settings.accountsPerUser(); a++) {
+            long accountId = idBlockAllocator.next("account");
+            long openingCents = 100_000 + random.nextInt(1_000_000);
+            long balanceCents = openingCents;
+            long nextTransactionId = idBlockAllocator.reserve(Transaction.ID_SEQUENCE, settings.transactionsPerAccount());
+
+            for (int t = 0; t < settings.transactionsPerAccount(); t++) {
+                double roll = random.nextDouble();
+                boolean income = roll < settings.incomeShare();
+                List<Long> pool = income ? incomeCategories
+                        : roll < settings.incomeShare() + (1 - settings.incomeShare()) * settings.needShare()
+                        ? needCategories : wantCategories;
+                long categoryId = pool.get(random.nextInt(pool.size()));
+                long cents = income ? 50_000 + random.nextInt(500_000) : 100 + random.nextInt(25_000);
+                LocalDate date = firstDay.plusDays(random.nextInt(settings.days()));
+                Transaction.TransactionType type = income
+                        ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE;
+                long transactionId = nextTransactionId++;
+                BigDecimal amount = BigDecimal.valueOf(cents, 2);
+
+                batch.transactions.add(new Object[]{transactionId, accountId, userId, categoryId, amount,
+                        Date.valueOf(date), "Synthetic " + type.name().toLowerCase() + " " + t, type.name()});
+                batch.ledger.add(new Object[]{accountId, transactionId, BalanceLedgerEntry.EntryType.TRANSACTION.name(),
+                        income ? amount : amount.negate(), Date.valueOf(date), createdAt});
+                balanceCents += income ? cents : -cents;
+
+                long[] bucket = rollups.computeIfAbsent(categoryId + "|" + date.withDayOfMonth(1) + "|" + type.name(),
+                        key -> new long[2]);
+                bucket[0] += cents;
+                bucket[1]++;
+                if (!income && YearMonth.from(date).equals(currentMonth)) {
+                    spentThisMonth.merge(categoryId, cents, Long::sum);
+                }
+                count++;
+            }
+
+            Account.AccountType accountType = ACCOUNT_TYPES[a % ACCOUNT_TYPES.length];
+            batch.accounts.add(new Object[]{accountId, userId, accountType.name() + " " + (a + 1), accountType.name(),
+                    BigDecimal.valueOf(balanceCents, 2), createdAt});
+            batch.ledger.add(new Object[]{accountId, null, BalanceLedgerEntry.EntryType.OPENING.name(),
+                    BigDecimal.valueOf(openingCents, 2), Date.valueOf(firstDay.minusDays(1)), createdAt});
+        }
+
+        rollups.forEach((key, bucket) -> {
+            String[] parts = key.split("\\|");
+            batch.rollups.add(new Object[]{userId, Long.valueOf(parts[0]), Date.valueOf(LocalDate.parse(parts[1])),
+                    parts[2], BigDecimal.valueOf(bucket[0], 2), bucket[1]});
+        });
+
+        List<Long> expenseCategories = new ArrayList<>(needCategories);
+        expenseCategories.addAll(wantCategories);
+        for (Long categoryId : expenseCategories) {
+            long spent = spentThisMonth.getOrDefault(categoryId, 0L);
+            // Limits between half and twice the month's spend, so utilisation varies across budgets
+            long limit = Math.max(10_000, spent * (50 + random.nextInt(150)) / 100);
+            // Budgets already past a threshold start at that alert level, as if each had been raised
+            BigDecimal limitAmount = BigDecimal.valueOf(limit, 2);
+            BigDecimal spentAmount = BigDecimal.valueOf(spent, 2);
+            batch.budgets.add(new Object[]{idBlockAllocator.next("budget"), userId, categoryId,
+                    limitAmount, Date.valueOf(currentMonth.atDay(1)), Date.valueOf(currentMonth.atEndOfMonth()),
+                    spentAmount, BudgetAlertService.levelFor(spentAmount, limitAmount)});
+        }
+        return count;
+    }
+
+    private List<Long> categories(long userId, String[][] names, Category.CategoryType type, Batch batch) {
+        List<Long> ids = new ArrayList<>();
+        for (String[] name : names) {
+            long categoryId = idBlockAllocator.next("category");
+            batch.categories.add(new Object[]{categoryId, userId, name[0], type.name(), name[1]});
+            ids.add(categoryId);
+        }
+        return ids;
+    }
+
+    record Settings(int users, int accountsPerUser, int transactionsPerAccount, int days,
+                    double incomeShare, double needShare, String password, int batchSize, long randomSeed) {
+    }
+
+    // Pending rows per table, written parents first so foreign keys hold
+    private final class Batch {
+        private final List<Object[]> users = new ArrayList<>();
+        private final List<Object[]> accounts = new ArrayList<>();
+        private final List<Object[]> categories = new ArrayList<>();
+        private final List<Object[]> transactions = new ArrayList<>();
+        private final List<Object[]> ledger = new ArrayList<>();
+        private final List<Object[]> rollups = new ArrayList<>();
+        private final List<Object[]> budgets = new ArrayList<>();
+
+        private void flush() {
+            write(USER_SQL, users);
+            write(ACCOUNT_SQL, accounts);
+            write(CATEGORY_SQL, categories);
+            write(TRANSACTION_SQL, transactions);
+            write(LEDGER_SQL, ledger);
+            write(ROLLUP_SQL, rollups);
+            write(BUDGET_SQL, budgets);
+        }
+
+        private void write(String sql, List<Object[]> rows) {
+            for (int from = 0; from < rows.size(); from += settings.batchSize()) {
+                jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + settings.batchSize())));
+            }
+            rows.clear();
+        }
+    }
+}
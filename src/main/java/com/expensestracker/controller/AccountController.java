@@ -3,12 +3,15 @@ package com.expensestracker.controller;
 import com.expensestracker.dto.request.AccountRequest;
 import com.expensestracker.dto.response.AccountResponse;
 import com.expensestracker.dto.response.ApiResponse;
+import com.expensestracker.dto.response.BalanceResponse;
 import com.expensestracker.service.AccountService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -65,6 +68,21 @@ public class AccountController {
         }
     }
     
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<ApiResponse<BalanceResponse>> getBalanceAsOf(
+            @RequestHeader("userId") Long userId,
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        try {
+            BalanceResponse balance = accountService.getBalanceAsOf(userId, id, asOf != null ? asOf : LocalDate.now());
+            return ResponseEntity.ok(ApiResponse.success(balance));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteAccount(
             @RequestHeader("userId") Long userId,
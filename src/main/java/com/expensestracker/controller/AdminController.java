@@ -0,0 +1,83 @@
+package com.expensestracker.controller;
+
+import com.expensestracker.config.DebugLoggingFilter;
+import com.expensestracker.dto.response.ApiResponse;
+import com.expensestracker.dto.response.CacheStatsResponse;
+import com.expensestracker.service.CategoryCache;
+import com.expensestracker.service.SystemCategoryRegistry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+    
+    private final CategoryCache categoryCache;
+    private final SystemCategoryRegistry systemCategoryRegistry;
+    private final DebugLoggingFilter debugLoggingFilter;
+    
+    public AdminController(CategoryCache categoryCache, SystemCategoryRegistry systemCategoryRegistry,
+                           DebugLoggingFilter debugLoggingFilter) {
+        this.categoryCache = categoryCache;
+        this.systemCategoryRegistry = systemCategoryRegistry;
+        this.debugLoggingFilter = debugLoggingFilter;
+    }
+    
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsResponse>>> getCacheStats() {
+        CacheStats stats = categoryCache.stats();
+        CacheStatsResponse categories = new CacheStatsResponse(
+                "categories", categoryCache.size(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+        return ResponseEntity.ok(ApiResponse.success(List.of(categories)));
+    }
+    
+    // Reload system categories after they are changed directly in the database
+    @PostMapping("/system-categories/refresh")
+    public ResponseEntity<ApiResponse<Integer>> refreshSystemCategories() {
+        try {
+            int loaded = systemCategoryRegistry.refresh();
+            return ResponseEntity.ok(ApiResponse.success("System categories reloaded", loaded));
+        } catch (RuntimeException e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Log every request of this user at DEBUG until switched off (in-memory, per instance).
+    // Needs the X-Debug-Logging token; without one configured the switch is disabled
+    @PostMapping("/debug-logging/users/{userId}")
+    public ResponseEntity<ApiResponse<Set<Long>>> enableDebugLogging(
+            @RequestHeader(value = DebugLoggingFilter.HEADER, required = false) String token,
+            @PathVariable Long userId) {
+        if (!debugLoggingFilter.matchesToken(token)) {
+            return forbidden();
+        }
+        debugLoggingFilter.enableForUser(userId);
+        return ResponseEntity.ok(ApiResponse.success("Debug logging enabled", debugLoggingFilter.debugUsers()));
+    }
+    
+    @DeleteMapping("/debug-logging/users/{userId}")
+    public ResponseEntity<ApiResponse<Set<Long>>> disableDebugLogging(
+            @RequestHeader(value = DebugLoggingFilter.HEADER, required = false) String token,
+            @PathVariable Long userId) {
+        if (!debugLoggingFilter.matchesToken(token)) {
+            return forbidden();
+        }
+        debugLoggingFilter.disableForUser(userId);
+        return ResponseEntity.ok(ApiResponse.success("Debug logging disabled", debugLoggingFilter.debugUsers()));
+    }
+    
+    private static <T> ResponseEntity<ApiResponse<T>> forbidden() {
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("A valid " + DebugLoggingFilter.HEADER + " token is required"));
+    }
+}
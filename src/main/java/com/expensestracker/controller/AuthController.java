@@ -5,7 +5,10 @@ import com.expensestracker.dto.request.LoginRequest;
 import com.expensestracker.dto.request.UserRegistrationRequest;
 import com.expensestracker.dto.response.ApiResponse;
 import com.expensestracker.dto.response.UserResponse;
+import com.expensestracker.service.LoginRateLimiter;
+import com.expensestracker.service.PasswordHasher;
 import com.expensestracker.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +16,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
@@ -26,36 +32,53 @@ public class AuthController {
         this.userService = userService;
     }
     
+    // Both endpoints complete asynchronously once the password hash is done (see PasswordHasher)
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<UserResponse>> register(
+    public CompletableFuture<ResponseEntity<ApiResponse<UserResponse>>> register(
             @Valid @RequestBody UserRegistrationRequest request) {
+        log.info("Registration request received for email: {}", request.getEmail());
         try {
-            log.info("Registration request received for email: {}", request.getEmail());
-            UserResponse response = userService.registerUser(request);
-            return ResponseEntity
-                    .status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("User registered successfully", response));
+            return userService.registerUser(request)
+                    .thenApply(response -> ResponseEntity
+                            .status(HttpStatus.CREATED)
+                            .body(ApiResponse.success("User registered successfully", response)))
+                    .exceptionally(e -> failure("Registration", unwrap(e), HttpStatus.BAD_REQUEST));
         } catch (RuntimeException e) {
-            log.error("Registration failed: {}", e.getMessage());
-            return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(ApiResponse.error(e.getMessage()));
+            return CompletableFuture.completedFuture(failure("Registration", e, HttpStatus.BAD_REQUEST));
         }
     }
     
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<UserResponse>> login(
-            @Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<UserResponse>>> login(
+            @Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        log.info("Login request received for email: {}", request.getEmail());
         try {
-            log.info("Login request received for email: {}", request.getEmail());
-            UserResponse response = userService.loginUser(request);
-            return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+            return userService.loginUser(request, httpRequest.getRemoteAddr())
+                    .thenApply(response -> ResponseEntity.ok(ApiResponse.success("Login successful", response)))
+                    .exceptionally(e -> failure("Login", unwrap(e), HttpStatus.UNAUTHORIZED));
         } catch (RuntimeException e) {
-            log.error("Login failed: {}", e.getMessage());
-            return ResponseEntity
-                    .status(HttpStatus.UNAUTHORIZED)
+            return CompletableFuture.completedFuture(failure("Login", e, HttpStatus.UNAUTHORIZED));
+        }
+    }
+    
+    // Throttling maps to 429/503 with Retry-After; anything else to the endpoint's error status
+    private ResponseEntity<ApiResponse<UserResponse>> failure(String operation, Throwable e, HttpStatus status) {
+        log.error("{} failed: {}", operation, e.getMessage());
+        if (e instanceof LoginRateLimiter.LimitExceededException limited) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(limited.getRetryAfterSeconds()))
                     .body(ApiResponse.error(e.getMessage()));
         }
+        if (e instanceof PasswordHasher.BusyException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+        return ResponseEntity.status(status).body(ApiResponse.error(e.getMessage()));
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
     
     @GetMapping("/test")
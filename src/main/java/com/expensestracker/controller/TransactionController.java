@@ -2,16 +2,26 @@ package com.expensestracker.controller;
 
 import com.expensestracker.dto.request.TransactionRequest;
 import com.expensestracker.dto.response.ApiResponse;
+import com.expensestracker.dto.response.TransactionImportResponse;
+import com.expensestracker.dto.response.TransactionPageResponse;
 import com.expensestracker.dto.response.TransactionResponse;
+import com.expensestracker.service.TransactionExportService;
+import com.expensestracker.service.TransactionImportService;
 import com.expensestracker.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -21,9 +31,18 @@ public class TransactionController {
     private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
     
     private final TransactionService transactionService;
+    private final TransactionImportService transactionImportService;
+    private final TransactionExportService transactionExportService;
+    private final ObjectMapper objectMapper;
     
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionImportService transactionImportService,
+                                 TransactionExportService transactionExportService,
+                                 ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.transactionImportService = transactionImportService;
+        this.transactionExportService = transactionExportService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
@@ -43,6 +62,40 @@ public class TransactionController {
         }
     }
     
+    @PostMapping(value = "/import", consumes = "application/json")
+    public ResponseEntity<ApiResponse<TransactionImportResponse>> importTransactions(
+            @RequestHeader("userId") Long userId,
+            @RequestBody List<TransactionRequest> requests) {
+        try {
+            TransactionImportResponse response = transactionImportService.importTransactions(userId, requests);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Transactions imported successfully", response));
+        } catch (RuntimeException e) {
+            log.error("Error importing transactions: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<TransactionImportResponse>> importTransactionsCsv(
+            @RequestHeader("userId") Long userId,
+            InputStream csv) {
+        try {
+            TransactionImportResponse response = transactionImportService.importCsv(userId, csv);
+            return ResponseEntity
+                    .status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Transactions imported successfully", response));
+        } catch (RuntimeException e) {
+            log.error("Error importing transactions: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     @GetMapping
     public ResponseEntity<ApiResponse<List<TransactionResponse>>> getAllTransactions(
             @RequestHeader("userId") Long userId) {
@@ -56,6 +109,47 @@ public class TransactionController {
         }
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<TransactionPageResponse>> getTransactionsPage(
+            @RequestHeader("userId") Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            TransactionPageResponse page = transactionService.getUserTransactionsPage(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (RuntimeException e) {
+            log.error("Error fetching transaction page: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestHeader("userId") Long userId,
+            @RequestParam(defaultValue = "csv") String format) {
+        TransactionExportService.Format exportFormat;
+        try {
+            exportFormat = TransactionExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // Spring only streams a ResponseEntity declared as StreamingResponseBody, so the error is streamed too
+            ApiResponse<Void> error = ApiResponse.error("Export format must be csv or ndjson");
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+        
+        boolean csv = exportFormat == TransactionExportService.Format.CSV;
+        StreamingResponseBody body = out -> transactionExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransactionById(
             @RequestHeader("userId") Long userId,
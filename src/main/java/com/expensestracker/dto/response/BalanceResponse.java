@@ -0,0 +1,43 @@
+package com.expensestracker.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BalanceResponse {
+    private Long accountId;
+    private LocalDate asOf;
+    private BigDecimal balance;
+    
+    public BalanceResponse() {
+    }
+    
+    public BalanceResponse(Long accountId, LocalDate asOf, BigDecimal balance) {
+        this.accountId = accountId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+    
+    public Long getAccountId() {
+        return accountId;
+    }
+    
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+    
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+    
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+    
+    public BigDecimal getBalance() {
+        return balance;
+    }
+    
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+}
@@ -11,6 +11,9 @@ public class BudgetResponse {
     private BigDecimal amountLimit;
     private LocalDate startDate;
     private LocalDate endDate;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    private BigDecimal percentUsed;
     
     public BudgetResponse() {
     }
@@ -27,6 +30,16 @@ public class BudgetResponse {
         this.endDate = endDate;
     }
     
+    public BudgetResponse(Long budgetId, Long categoryId, String categoryName, 
+                         String categoryType, BigDecimal amountLimit, 
+                         LocalDate startDate, LocalDate endDate, BigDecimal spentAmount,
+                         BigDecimal remainingAmount, BigDecimal percentUsed) {
+        this(budgetId, categoryId, categoryName, categoryType, amountLimit, startDate, endDate);
+        this.spentAmount = spentAmount;
+        this.remainingAmount = remainingAmount;
+        this.percentUsed = percentUsed;
+    }
+    
     public static BudgetResponseBuilder builder() {
         return new BudgetResponseBuilder();
     }
@@ -39,6 +52,9 @@ public class BudgetResponse {
         private BigDecimal amountLimit;
         private LocalDate startDate;
         private LocalDate endDate;
+        private BigDecimal spentAmount;
+        private BigDecimal remainingAmount;
+        private BigDecimal percentUsed;
         
         public BudgetResponseBuilder budgetId(Long budgetId) {
             this.budgetId = budgetId;
@@ -75,9 +91,25 @@ public class BudgetResponse {
             return this;
         }
         
+        public BudgetResponseBuilder spentAmount(BigDecimal spentAmount) {
+            this.spentAmount = spentAmount;
+            return this;
+        }
+        
+        public BudgetResponseBuilder remainingAmount(BigDecimal remainingAmount) {
+            this.remainingAmount = remainingAmount;
+            return this;
+        }
+        
+        public BudgetResponseBuilder percentUsed(BigDecimal percentUsed) {
+            this.percentUsed = percentUsed;
+            return this;
+        }
+        
         public BudgetResponse build() {
             return new BudgetResponse(budgetId, categoryId, categoryName, categoryType, 
-                                     amountLimit, startDate, endDate);
+                                     amountLimit, startDate, endDate, spentAmount,
+                                     remainingAmount, percentUsed);
         }
     }
     
@@ -137,4 +169,28 @@ public class BudgetResponse {
     public void setEndDate(LocalDate endDate) {
         this.endDate = endDate;
     }
-}
+    
+    public BigDecimal getSpentAmount() {
+        return spentAmount;
+    }
+    
+    public void setSpentAmount(BigDecimal spentAmount) {
+        this.spentAmount = spentAmount;
+    }
+    
+    public BigDecimal getRemainingAmount() {
+        return remainingAmount;
+    }
+    
+    public void setRemainingAmount(BigDecimal remainingAmount) {
+        this.remainingAmount = remainingAmount;
+    }
+    
+    public BigDecimal getPercentUsed() {
+        return percentUsed;
+    }
+    
+    public void setPercentUsed(BigDecimal percentUsed) {
+        this.percentUsed = percentUsed;
+    }
+}
\ No newline at end of file
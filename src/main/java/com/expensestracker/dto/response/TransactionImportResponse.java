@@ -0,0 +1,40 @@
+package com.expensestracker.dto.response;
+
+public class TransactionImportResponse {
+    private int importedCount;
+    private int accountsUpdated;
+    private long durationMillis;
+    
+    public TransactionImportResponse() {
+    }
+    
+    public TransactionImportResponse(int importedCount, int accountsUpdated, long durationMillis) {
+        this.importedCount = importedCount;
+        this.accountsUpdated = accountsUpdated;
+        this.durationMillis = durationMillis;
+    }
+    
+    public int getImportedCount() {
+        return importedCount;
+    }
+    
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+    
+    public int getAccountsUpdated() {
+        return accountsUpdated;
+    }
+    
+    public void setAccountsUpdated(int accountsUpdated) {
+        this.accountsUpdated = accountsUpdated;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+}
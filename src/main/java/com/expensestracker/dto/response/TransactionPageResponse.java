@@ -0,0 +1,88 @@
+package com.expensestracker.dto.response;
+
+import java.util.List;
+
+public class TransactionPageResponse {
+    private List<TransactionResponse> transactions;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+    
+    public TransactionPageResponse() {
+    }
+    
+    public TransactionPageResponse(List<TransactionResponse> transactions, String nextCursor, 
+                                   boolean hasMore, int size) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = size;
+    }
+    
+    public static TransactionPageResponseBuilder builder() {
+        return new TransactionPageResponseBuilder();
+    }
+    
+    public static class TransactionPageResponseBuilder {
+        private List<TransactionResponse> transactions;
+        private String nextCursor;
+        private boolean hasMore;
+        private int size;
+        
+        public TransactionPageResponseBuilder transactions(List<TransactionResponse> transactions) {
+            this.transactions = transactions;
+            return this;
+        }
+        
+        public TransactionPageResponseBuilder nextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+        
+        public TransactionPageResponseBuilder hasMore(boolean hasMore) {
+            this.hasMore = hasMore;
+            return this;
+        }
+        
+        public TransactionPageResponseBuilder size(int size) {
+            this.size = size;
+            return this;
+        }
+        
+        public TransactionPageResponse build() {
+            return new TransactionPageResponse(transactions, nextCursor, hasMore, size);
+        }
+    }
+    
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+    
+    public void setTransactions(List<TransactionResponse> transactions) {
+        this.transactions = transactions;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -129,6 +129,14 @@ public class TransactionResponse {
         this.categoryId = categoryId;
     }
 
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
+
     public String getCategoryName() {
         return categoryName;
     }
@@ -0,0 +1,4 @@
+package com.expensestracker.event;
+
+public record AccountChangedEvent(Long accountId, Long userId, ChangeType changeType) {
+}
@@ -0,0 +1,4 @@
+package com.expensestracker.event;
+
+public record BudgetChangedEvent(Long budgetId, Long userId, Long categoryId, ChangeType changeType) {
+}
@@ -0,0 +1,15 @@
+package com.expensestracker.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Raised once when a budget's spend first reaches one of the alert thresholds
+ * (80% or 100% of the limit). A budget that drops back below a threshold can raise it again.
+ */
+public record BudgetThresholdCrossedEvent(Long budgetId,
+                                          Long userId,
+                                          Long categoryId,
+                                          int thresholdPercent,
+                                          BigDecimal spentAmount,
+                                          BigDecimal amountLimit) {
+}
@@ -0,0 +1,7 @@
+package com.expensestracker.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,12 @@
+package com.expensestracker.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TransactionDeletedEvent(Long transactionId,
+                                      Long userId,
+                                      Long accountId,
+                                      Long categoryId,
+                                      BigDecimal amount,
+                                      LocalDate transactionDate) {
+}
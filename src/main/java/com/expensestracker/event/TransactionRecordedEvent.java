@@ -0,0 +1,14 @@
+package com.expensestracker.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// A transaction was added (singly; bulk imports raise TransactionsImportedEvent instead)
+public record TransactionRecordedEvent(Long transactionId,
+                                       Long userId,
+                                       Long accountId,
+                                       Long categoryId,
+                                       BigDecimal amount,
+                                       LocalDate transactionDate,
+                                       String transactionType) {
+}
@@ -0,0 +1,4 @@
+package com.expensestracker.event;
+
+public record TransactionsImportedEvent(Long userId, int transactionCount, int accountCount) {
+}
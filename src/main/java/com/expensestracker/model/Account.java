@@ -1,5 +1,6 @@
 package com.expensestracker.model;
 
+import com.expensestracker.config.PooledId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,7 +12,7 @@ import java.util.List;
 public class Account {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("account")
     @Column(name = "account_id")
     private Long accountId;
     
@@ -0,0 +1,95 @@
+package com.expensestracker.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a single balance change on an account. Rows are never updated;
+ * a deleted transaction is undone by appending a REVERSAL entry. Carries plain IDs so
+ * entries survive deletion of the transaction they describe.
+ */
+@Entity
+@Table(name = "balance_ledger",
+       indexes = @Index(name = "idx_ledger_account_date", columnList = "account_id, entry_date"))
+public class BalanceLedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    // Null for opening balances and netted bulk-import entries
+    @Column(name = "transaction_id")
+    private Long transactionId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private EntryType entryType;
+    
+    @Column(name = "amount_delta", nullable = false, precision = 15, scale = 2)
+    private BigDecimal amountDelta;
+    
+    // Date the change takes effect (the transaction date), used for as-of queries
+    @Column(name = "entry_date", nullable = false)
+    private LocalDate entryDate;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public BalanceLedgerEntry() {
+    }
+
+    public BalanceLedgerEntry(Long accountId, Long transactionId, EntryType entryType,
+                              BigDecimal amountDelta, LocalDate entryDate) {
+        this.accountId = accountId;
+        this.transactionId = transactionId;
+        this.entryType = entryType;
+        this.amountDelta = amountDelta;
+        this.entryDate = entryDate;
+    }
+
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public EntryType getEntryType() {
+        return entryType;
+    }
+
+    public BigDecimal getAmountDelta() {
+        return amountDelta;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public enum EntryType {
+        OPENING,
+        TRANSACTION,
+        REVERSAL,
+        IMPORT
+    }
+}
@@ -0,0 +1,56 @@
+package com.expensestracker.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Account balance at the end of a given day: the sum of every ledger entry with
+ * entry_date on or before as_of_date. Written by the nightly snapshot job and dropped
+ * when a back-dated entry lands on or before it.
+ */
+@Entity
+@Table(name = "balance_snapshot",
+       uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_account_date",
+               columnNames = {"account_id", "as_of_date"}))
+public class BalanceSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(name = "as_of_date", nullable = false)
+    private LocalDate asOfDate;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal balance;
+
+    public BalanceSnapshot() {
+    }
+
+    public BalanceSnapshot(Long accountId, LocalDate asOfDate, BigDecimal balance) {
+        this.accountId = accountId;
+        this.asOfDate = asOfDate;
+        this.balance = balance;
+    }
+
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getAsOfDate() {
+        return asOfDate;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+}
@@ -1,15 +1,17 @@
 package com.expensestracker.model;
 
+import com.expensestracker.config.PooledId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "budget")
+@Table(name = "budget",
+       indexes = @Index(name = "idx_budget_user_category", columnList = "user_id, category_id"))
 public class Budget {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("budget")
     @Column(name = "budget_id")
     private Long budgetId;
     
@@ -30,6 +32,15 @@ public class Budget {
     @Column(name = "end_date", nullable = false)
     private LocalDate endDate;
 
+    // Running spend counter and highest alerted threshold (percent), maintained only by the
+    // atomic updates in BudgetAlertService; null spend means the counter is not computed yet
+    @Column(name = "spent_amount", precision = 15, scale = 2, insertable = false, updatable = false)
+    private BigDecimal spentAmount;
+
+    @Column(name = "alert_level", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int alertLevel;
+
     public Budget() {
     }
 
@@ -91,6 +102,14 @@ public class Budget {
         this.endDate = endDate;
     }
 
+    public BigDecimal getSpentAmount() {
+        return spentAmount;
+    }
+
+    public int getAlertLevel() {
+        return alertLevel;
+    }
+
     public static BudgetBuilder builder() {
         return new BudgetBuilder();
     }
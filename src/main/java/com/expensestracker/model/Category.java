@@ -1,5 +1,6 @@
 package com.expensestracker.model;
 
+import com.expensestracker.config.PooledId;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,7 +10,7 @@ import java.util.List;
 public class Category {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("category")
     @Column(name = "category_id")
     private Long categoryId;
     
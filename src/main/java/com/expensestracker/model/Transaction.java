@@ -1,5 +1,6 @@
 package com.expensestracker.model;
 
+import com.expensestracker.config.PooledId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -8,8 +9,11 @@ import java.time.LocalDate;
 @Table(name = "transaction")
 public class Transaction {
     
+    // id_generator row for this table; the bulk import reserves its ids from it as well
+    public static final String ID_SEQUENCE = "transaction";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(ID_SEQUENCE)
     @Column(name = "transaction_id")
     private Long transactionId;
     
@@ -17,6 +21,10 @@ public class Transaction {
     @JoinColumn(name = "account_id", nullable = false)
     private Account account;
     
+    // Owner of the account, copied here so user-scoped queries need no join to account
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
@@ -33,6 +41,13 @@ public class Transaction {
     @Column(name = "transaction_type")
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (userId == null && account != null) {
+            userId = account.getUser().getUserId();
+        }
+    }
 
     public Transaction() {
     }
@@ -63,6 +78,14 @@ public class Transaction {
         this.account = account;
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
     public Category getCategory() {
         return category;
     }
@@ -110,6 +133,7 @@ public class Transaction {
     public static class TransactionBuilder {
         private Long transactionId;
         private Account account;
+        private Long userId;
         private Category category;
         private BigDecimal amount;
         private LocalDate transactionDate;
@@ -126,6 +150,11 @@ public class Transaction {
             return this;
         }
 
+        public TransactionBuilder userId(Long userId) {
+            this.userId = userId;
+            return this;
+        }
+
         public TransactionBuilder category(Category category) {
             this.category = category;
             return this;
@@ -153,6 +182,7 @@ public class Transaction {
 
         public Transaction build() {
             Transaction transaction = new Transaction(transactionId, account, category, amount, transactionDate, description);
+            transaction.setUserId(userId);
             transaction.setTransactionType(transactionType);
             return transaction;
         }
@@ -1,5 +1,6 @@
 package com.expensestracker.model;
 
+import com.expensestracker.config.PooledId;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,7 +11,7 @@ import java.util.List;
 public class User {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("users")
     @Column(name = "user_id")
     private Long userId;
     
@@ -2,8 +2,12 @@ package com.expensestracker.repository;
 
 import com.expensestracker.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +20,17 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     // Uses the new enum AccountType
     List<Account> findByUser_UserIdAndAccountType(Long userId, Account.AccountType accountType);
-}
\ No newline at end of file
+    
+    // Apply a net balance change in a single statement (no read-modify-write)
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta WHERE a.accountId = :accountId")
+    int adjustBalance(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+    
+    @Query("SELECT a.accountId FROM Account a")
+    List<Long> findAllAccountIds();
+    
+    // Locks the account row until the transaction ends; every balance write holds the same
+    // lock through adjustBalance, so a holder of it sees no uncommitted ledger entries
+    @Query(value = "SELECT account_id FROM account WHERE account_id = :accountId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("accountId") Long accountId);
+}
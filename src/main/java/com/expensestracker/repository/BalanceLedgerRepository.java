@@ -0,0 +1,54 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.model.BalanceLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+    
+    // Sum of deltas effective in (after, asOf]
+    @Query("SELECT COALESCE(SUM(l.amountDelta), 0) FROM BalanceLedgerEntry l " +
+           "WHERE l.accountId = :accountId AND l.entryDate > :after AND l.entryDate <= :asOf")
+    BigDecimal sumDeltasBetween(@Param("accountId") Long accountId,
+                                @Param("after") LocalDate after,
+                                @Param("asOf") LocalDate asOf);
+    
+    // Sum of every delta effective on or before asOf (no snapshot to start from)
+    @Query("SELECT COALESCE(SUM(l.amountDelta), 0) FROM BalanceLedgerEntry l " +
+           "WHERE l.accountId = :accountId AND l.entryDate <= :asOf")
+    BigDecimal sumDeltasUpTo(@Param("accountId") Long accountId, @Param("asOf") LocalDate asOf);
+    
+    @Modifying
+    @Query("DELETE FROM BalanceLedgerEntry l WHERE l.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+    
+    // Backfill: opening balance per account = current balance minus the effect of its transactions
+    @Modifying
+    @Query(value = "INSERT INTO balance_ledger (account_id, transaction_id, entry_type, amount_delta, entry_date, created_at) " +
+                   "SELECT a.account_id, NULL, 'OPENING', " +
+                   "a.balance - COALESCE(SUM(CASE WHEN c.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0), " +
+                   "LEAST(CAST(a.created_at AS DATE), COALESCE(MIN(t.transaction_date), CAST(a.created_at AS DATE))), " +
+                   "CURRENT_TIMESTAMP " +
+                   "FROM account a " +
+                   "LEFT JOIN transaction t ON t.account_id = a.account_id " +
+                   "LEFT JOIN category c ON c.category_id = t.category_id " +
+                   "GROUP BY a.account_id, a.balance, a.created_at",
+           nativeQuery = true)
+    int backfillOpeningEntries();
+    
+    @Modifying
+    @Query(value = "INSERT INTO balance_ledger (account_id, transaction_id, entry_type, amount_delta, entry_date, created_at) " +
+                   "SELECT t.account_id, t.transaction_id, 'TRANSACTION', " +
+                   "CASE WHEN c.type = 'INCOME' THEN t.amount ELSE -t.amount END, " +
+                   "t.transaction_date, CURRENT_TIMESTAMP " +
+                   "FROM transaction t JOIN category c ON c.category_id = t.category_id",
+           nativeQuery = true)
+    int backfillTransactionEntries();
+}
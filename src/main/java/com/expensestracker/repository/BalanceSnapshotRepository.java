@@ -0,0 +1,30 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+    
+    // Latest snapshot on or before the given date
+    Optional<BalanceSnapshot> findFirstByAccountIdAndAsOfDateLessThanEqualOrderByAsOfDateDesc(
+        Long accountId, LocalDate date);
+    
+    boolean existsByAccountIdAndAsOfDate(Long accountId, LocalDate asOfDate);
+    
+    // Drop snapshots a back-dated entry has made stale
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.accountId = :accountId AND s.asOfDate >= :date")
+    int deleteFrom(@Param("accountId") Long accountId, @Param("date") LocalDate date);
+    
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
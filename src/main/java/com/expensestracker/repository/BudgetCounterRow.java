@@ -0,0 +1,19 @@
+package com.expensestracker.repository;
+
+import java.math.BigDecimal;
+
+// Projection of a budget's running spend counter, used for threshold checks
+public interface BudgetCounterRow {
+    
+    Long getBudgetId();
+    
+    Long getUserId();
+    
+    Long getCategoryId();
+    
+    BigDecimal getAmountLimit();
+    
+    BigDecimal getSpentAmount();
+    
+    int getAlertLevel();
+}
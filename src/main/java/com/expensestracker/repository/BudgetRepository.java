@@ -1,9 +1,14 @@
 package com.expensestracker.repository;
 
 import com.expensestracker.model.Budget;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -11,14 +16,100 @@ import java.util.Optional;
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
     
+    // Each budget with the sum of the owner's expenses in its category and date window.
+    // Filtering on t.userId keeps other users' spend on shared system categories out.
+    String UTILIZATION_QUERY = "SELECT b.budgetId AS budgetId, c.categoryId AS categoryId, "
+            + "c.name AS categoryName, c.type AS categoryType, b.amountLimit AS amountLimit, "
+            + "b.startDate AS startDate, b.endDate AS endDate, "
+            + "COALESCE(SUM(t.amount), 0) AS spent "
+            + "FROM Budget b JOIN b.category c "
+            + "LEFT JOIN Transaction t ON t.userId = :userId AND t.category.categoryId = c.categoryId "
+            + "AND t.transactionDate BETWEEN b.startDate AND b.endDate "
+            + "AND t.transactionType = com.expensestracker.model.Transaction$TransactionType.EXPENSE "
+            + "WHERE b.user.userId = :userId ";
+    String UTILIZATION_GROUP_BY = "GROUP BY b.budgetId, c.categoryId, c.name, c.type, "
+            + "b.amountLimit, b.startDate, b.endDate ";
+    
+    @EntityGraph(attributePaths = {"category"})
     List<Budget> findByUser_UserId(Long userId);
     
     // Find specific budget by ID and User (security check)
+    @EntityGraph(attributePaths = {"category"})
     Optional<Budget> findByBudgetIdAndUser_UserId(Long budgetId, Long userId);
     
     // Find budget for a specific category
+    @EntityGraph(attributePaths = {"category"})
     Optional<Budget> findByUser_UserIdAndCategory_CategoryId(Long userId, Long categoryId);
     
     // Find budgets ending before a certain date (for expiry checks)
+    @EntityGraph(attributePaths = {"category"})
     List<Budget> findByUser_UserIdAndEndDateBefore(Long userId, LocalDate date);
-}
\ No newline at end of file
+    
+    // Utilisation of all the user's budgets in one grouped query
+    @Query(UTILIZATION_QUERY + UTILIZATION_GROUP_BY + "ORDER BY b.budgetId")
+    List<BudgetUtilizationRow> findUtilizationByUserId(@Param("userId") Long userId);
+    
+    @Query(UTILIZATION_QUERY + "AND b.budgetId = :budgetId " + UTILIZATION_GROUP_BY)
+    Optional<BudgetUtilizationRow> findUtilizationByBudgetIdAndUserId(@Param("budgetId") Long budgetId,
+                                                                      @Param("userId") Long userId);
+    
+    // Running spend counters (see BudgetAlertService)
+    String COUNTER_SELECT = "SELECT budget_id AS budgetId, user_id AS userId, category_id AS categoryId, "
+            + "amount_limit AS amountLimit, spent_amount AS spentAmount, alert_level AS alertLevel FROM budget ";
+    // Expenses only, matching what TransactionService passes to recordSpend
+    String SPENT_SUBQUERY = "(SELECT COALESCE(SUM(t.amount), 0) FROM transaction t "
+            + "WHERE t.user_id = budget.user_id AND t.category_id = budget.category_id "
+            + "AND t.transaction_type = 'EXPENSE' "
+            + "AND t.transaction_date BETWEEN budget.start_date AND budget.end_date)";
+    
+    // Add a transaction's amount to every budget of the user covering its category and date
+    @Modifying
+    @Query(value = "UPDATE budget SET spent_amount = spent_amount + :amount "
+            + "WHERE user_id = :userId AND category_id = :categoryId "
+            + "AND :date BETWEEN start_date AND end_date AND spent_amount IS NOT NULL",
+           nativeQuery = true)
+    int addToSpent(@Param("userId") Long userId,
+                   @Param("categoryId") Long categoryId,
+                   @Param("date") LocalDate date,
+                   @Param("amount") BigDecimal amount);
+    
+    @Query(value = COUNTER_SELECT + "WHERE user_id = :userId AND category_id = :categoryId "
+            + "AND :date BETWEEN start_date AND end_date",
+           nativeQuery = true)
+    List<BudgetCounterRow> findCounters(@Param("userId") Long userId,
+                                        @Param("categoryId") Long categoryId,
+                                        @Param("date") LocalDate date);
+    
+    @Query(value = COUNTER_SELECT + "WHERE user_id = :userId", nativeQuery = true)
+    List<BudgetCounterRow> findCountersByUserId(@Param("userId") Long userId);
+    
+    @Query(value = COUNTER_SELECT + "WHERE budget_id = :budgetId", nativeQuery = true)
+    Optional<BudgetCounterRow> findCounter(@Param("budgetId") Long budgetId);
+    
+    // Conditional level changes: only the caller whose update matches acts on the crossing
+    @Modifying
+    @Query(value = "UPDATE budget SET alert_level = :level WHERE budget_id = :budgetId AND alert_level < :level",
+           nativeQuery = true)
+    int raiseAlertLevel(@Param("budgetId") Long budgetId, @Param("level") int level);
+    
+    @Modifying
+    @Query(value = "UPDATE budget SET alert_level = :level WHERE budget_id = :budgetId AND alert_level > :level",
+           nativeQuery = true)
+    int lowerAlertLevel(@Param("budgetId") Long budgetId, @Param("level") int level);
+    
+    // Recompute counters from the transaction table (budget edits, bulk changes, first start)
+    @Modifying
+    @Query(value = "UPDATE budget SET spent_amount = " + SPENT_SUBQUERY + " WHERE budget_id = :budgetId",
+           nativeQuery = true)
+    int recomputeSpent(@Param("budgetId") Long budgetId);
+    
+    @Modifying
+    @Query(value = "UPDATE budget SET spent_amount = " + SPENT_SUBQUERY + " WHERE user_id = :userId",
+           nativeQuery = true)
+    int recomputeSpentForUser(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "UPDATE budget SET spent_amount = " + SPENT_SUBQUERY + " WHERE spent_amount IS NULL",
+           nativeQuery = true)
+    int initializeMissingSpent();
+}
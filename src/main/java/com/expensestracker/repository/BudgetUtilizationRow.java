@@ -0,0 +1,27 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.model.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Projection row for budget utilisation queries (one row per budget with its spend so far)
+public interface BudgetUtilizationRow {
+    
+    Long getBudgetId();
+    
+    Long getCategoryId();
+    
+    String getCategoryName();
+    
+    Category.CategoryType getCategoryType();
+    
+    BigDecimal getAmountLimit();
+    
+    LocalDate getStartDate();
+    
+    LocalDate getEndDate();
+    
+    // Zero when no transaction falls in the budget's window
+    BigDecimal getSpent();
+}
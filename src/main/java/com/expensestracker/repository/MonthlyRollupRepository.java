@@ -0,0 +1,75 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.model.MonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+    
+    // First day of the transaction's month, written so that MySQL and H2 both accept it
+    String MONTH_START = "CAST(CONCAT(YEAR(t.transaction_date), '-', LPAD(MONTH(t.transaction_date), 2, '0'), '-01') AS DATE)";
+    
+    // Atomically add a delta to the (user, month, category, type) bucket, creating it if missing
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup " +
+                   "(user_id, category_id, month_start, transaction_type, total_amount, transaction_count) " +
+                   "VALUES (:userId, :categoryId, :monthStart, :transactionType, :amount, :count) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                   "transaction_count = transaction_count + VALUES(transaction_count)",
+           nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId,
+                    @Param("categoryId") Long categoryId,
+                    @Param("monthStart") LocalDate monthStart,
+                    @Param("transactionType") String transactionType,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") long count);
+    
+    // Drop a bucket whose last transaction was removed, so reports and rebuilds agree on the rows
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollup WHERE user_id = :userId AND category_id = :categoryId " +
+                   "AND month_start = :monthStart AND transaction_type = :transactionType " +
+                   "AND transaction_count <= 0",
+           nativeQuery = true)
+    int deleteIfEmpty(@Param("userId") Long userId,
+                      @Param("categoryId") Long categoryId,
+                      @Param("monthStart") LocalDate monthStart,
+                      @Param("transactionType") String transactionType);
+    
+    // Report totals over whole months, grouped like TransactionRepository.summarizeByTypeAndClassification
+    @Query("SELECT r.transactionType AS transactionType, c.classification AS classification, " +
+           "SUM(r.totalAmount) AS total " +
+           "FROM MonthlyRollup r JOIN Category c ON c.categoryId = r.categoryId " +
+           "WHERE r.userId = :userId AND r.monthStart BETWEEN :fromMonth AND :toMonth " +
+           "GROUP BY r.transactionType, c.classification")
+    List<TransactionSummaryRow> summarizeByTypeAndClassification(@Param("userId") Long userId,
+                                                                @Param("fromMonth") LocalDate fromMonth,
+                                                                @Param("toMonth") LocalDate toMonth);
+    
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.categoryId = :categoryId")
+    void deleteByCategoryId(@Param("categoryId") Long categoryId);
+    
+    // Recompute a user's buckets straight from the transaction table
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup " +
+                   "(user_id, category_id, month_start, transaction_type, total_amount, transaction_count) " +
+                   "SELECT t.user_id, t.category_id, " + MONTH_START + ", " +
+                   "t.transaction_type, SUM(t.amount), COUNT(*) " +
+                   "FROM transaction t " +
+                   "WHERE t.user_id = :userId AND t.transaction_type IS NOT NULL " +
+                   "GROUP BY t.user_id, t.category_id, " + MONTH_START + ", t.transaction_type",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+}
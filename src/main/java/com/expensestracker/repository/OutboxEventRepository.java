@@ -0,0 +1,45 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    List<OutboxEvent> findByAggregateTypeAndAggregateIdOrderByEventId(String aggregateType, Long aggregateId);
+    
+    // Oldest undelivered events first, so each aggregate's events are seen in commit order
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL AND e.failedAt IS NULL ORDER BY e.eventId")
+    List<OutboxEvent> findPending(Limit limit);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt, e.attempts = e.attempts + 1 "
+            + "WHERE e.eventId IN :eventIds")
+    int markPublished(@Param("eventIds") Collection<Long> eventIds,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+    
+    // Count a failed delivery; a non-null failedAt parks the event instead of retrying it
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, e.failedAt = :failedAt "
+            + "WHERE e.eventId = :eventId")
+    int recordFailure(@Param("eventId") Long eventId,
+                      @Param("error") String error,
+                      @Param("failedAt") LocalDateTime failedAt);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
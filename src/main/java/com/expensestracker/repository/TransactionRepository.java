@@ -1,29 +1,81 @@
 package com.expensestracker.repository;
 
 import com.expensestracker.model.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    // Find all transactions for a user (through account)
-    List<Transaction> findByAccount_User_UserIdOrderByTransactionDateDesc(Long userId);
+    // User-scoped reads filter on the denormalised transaction.user_id, so they range-scan
+    // idx_transaction_user_date without joining account
+    
+    // Find all transactions for a user, newest first
+    @EntityGraph(attributePaths = {"account", "category"})
+    List<Transaction> findByUserIdOrderByTransactionDateDescTransactionIdDesc(Long userId);
+    
+    // Single transaction with its account and category in one select (ownership check + mapping)
+    @EntityGraph(attributePaths = {"account", "category"})
+    Optional<Transaction> findWithAccountAndCategoryByTransactionId(Long transactionId);
+    
+    // Keyset pagination: first page, newest first (ties broken by ID)
+    @EntityGraph(attributePaths = {"account", "category"})
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<Transaction> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
+    
+    // Keyset pagination: rows strictly after the (date, id) cursor, no OFFSET. The redundant
+    // date <= cursorDate bound is a plain range MySQL can prune monthly partitions on
+    @EntityGraph(attributePaths = {"account", "category"})
+    @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND t.transactionDate <= :cursorDate " +
+           "AND (t.transactionDate < :cursorDate " +
+           "OR (t.transactionDate = :cursorDate AND t.transactionId < :cursorId)) " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<Transaction> findPageByUserIdAfterCursor(@Param("userId") Long userId,
+                                                  @Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorId") Long cursorId,
+                                                  Limit limit);
     
     // Find transactions by date range
-    List<Transaction> findByAccount_User_UserIdAndTransactionDateBetweenOrderByTransactionDateDesc(
+    @EntityGraph(attributePaths = {"account", "category"})
+    List<Transaction> findByUserIdAndTransactionDateBetweenOrderByTransactionDateDesc(
         Long userId, LocalDate startDate, LocalDate endDate);
     
+    // Report totals grouped by transaction type and category classification
+    @Query("SELECT t.transactionType AS transactionType, c.classification AS classification, " +
+           "SUM(t.amount) AS total " +
+           "FROM Transaction t JOIN t.category c " +
+           "WHERE t.userId = :userId AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.transactionType, c.classification")
+    List<TransactionSummaryRow> summarizeByTypeAndClassification(@Param("userId") Long userId,
+                                                                @Param("startDate") LocalDate startDate,
+                                                                @Param("endDate") LocalDate endDate);
+    
     // Find by transaction type
-    List<Transaction> findByAccount_User_UserIdAndTransactionType(
-        Long userId, Transaction.TransactionType type);
+    @EntityGraph(attributePaths = {"account", "category"})
+    List<Transaction> findByUserIdAndTransactionType(Long userId, Transaction.TransactionType type);
     
     // Find by category
-    List<Transaction> findByAccount_User_UserIdAndCategory_CategoryId(Long userId, Long categoryId);
+    @EntityGraph(attributePaths = {"account", "category"})
+    List<Transaction> findByUserIdAndCategory_CategoryId(Long userId, Long categoryId);
     
     // Find by account
+    @EntityGraph(attributePaths = {"account", "category"})
     List<Transaction> findByAccount_AccountId(Long accountId);
-}
\ No newline at end of file
+    
+    // Returns the number of rows removed so concurrent deletes can tell who won. The date
+    // (part of the primary key) confines the delete to one monthly partition
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.transactionId = :transactionId AND t.transactionDate = :transactionDate")
+    int deleteByTransactionIdAndTransactionDate(@Param("transactionId") Long transactionId,
+                                                @Param("transactionDate") LocalDate transactionDate);
+}
@@ -0,0 +1,17 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.model.Category;
+import com.expensestracker.model.Transaction;
+
+import java.math.BigDecimal;
+
+// Projection row for grouped report queries (one row per type/classification pair)
+public interface TransactionSummaryRow {
+    
+    Transaction.TransactionType getTransactionType();
+    
+    // Null for unclassified categories
+    Category.CategoryClassification getClassification();
+    
+    BigDecimal getTotal();
+}
@@ -2,35 +2,54 @@ package com.expensestracker.service;
 
 import com.expensestracker.dto.request.AccountRequest;
 import com.expensestracker.dto.response.AccountResponse;
+import com.expensestracker.dto.response.BalanceResponse;
+import com.expensestracker.event.AccountChangedEvent;
+import com.expensestracker.event.ChangeType;
 import com.expensestracker.model.Account;
+import com.expensestracker.model.BalanceLedgerEntry;
 import com.expensestracker.model.User;
 import com.expensestracker.repository.AccountRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("expenses.service")
 public class AccountService {
     
     private static final Logger log = LoggerFactory.getLogger(AccountService.class);
     
     private final AccountRepository accountRepository;
     private final UserService userService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BudgetAlertService budgetAlertService;
+    private final OutboxService outboxService;
     
-    public AccountService(AccountRepository accountRepository, UserService userService) {
+    public AccountService(AccountRepository accountRepository, UserService userService,
+                          MonthlyRollupService monthlyRollupService,
+                          BalanceLedgerService balanceLedgerService,
+                          BudgetAlertService budgetAlertService,
+                          OutboxService outboxService) {
         this.accountRepository = accountRepository;
         this.userService = userService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.budgetAlertService = budgetAlertService;
+        this.outboxService = outboxService;
     }
     
     @Transactional
     public AccountResponse createAccount(Long userId, AccountRequest request) {
         log.info("Creating account for user: {}", userId);
         
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         
         Account account = Account.builder()
                 .user(user)
@@ -40,6 +59,10 @@ public class AccountService {
                 .build();
         
         Account savedAccount = accountRepository.save(account);
+        balanceLedgerService.append(savedAccount.getAccountId(), null, BalanceLedgerEntry.EntryType.OPENING,
+                savedAccount.getBalance(), savedAccount.getCreatedAt().toLocalDate());
+        outboxService.record("Account", savedAccount.getAccountId(),
+                new AccountChangedEvent(savedAccount.getAccountId(), userId, ChangeType.CREATED));
         log.info("Account created with ID: {}", savedAccount.getAccountId());
         
         return mapToResponse(savedAccount);
@@ -61,12 +84,26 @@ public class AccountService {
         return mapToResponse(account);
     }
     
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalanceAsOf(Long userId, Long accountId, LocalDate asOf) {
+        accountRepository.findByAccountIdAndUser_UserId(accountId, userId)
+                .orElseThrow(() -> new RuntimeException("Account not found or access denied"));
+        
+        return new BalanceResponse(accountId, asOf, balanceLedgerService.getBalanceAsOf(accountId, asOf));
+    }
+    
     @Transactional
     public void deleteAccount(Long userId, Long accountId) {
         Account account = accountRepository.findByAccountIdAndUser_UserId(accountId, userId)
                 .orElseThrow(() -> new RuntimeException("Account not found or access denied"));
         
         accountRepository.delete(account);
+        accountRepository.flush();
+        // Transactions were removed by cascade, so the user's rollups and budget counters must be recomputed
+        monthlyRollupService.rebuildForUser(userId);
+        balanceLedgerService.deleteForAccount(accountId);
+        budgetAlertService.recomputeForUser(userId);
+        outboxService.record("Account", accountId, new AccountChangedEvent(accountId, userId, ChangeType.DELETED));
         log.info("Account deleted: {}", accountId);
     }
     
@@ -0,0 +1,147 @@
+package com.expensestracker.service;
+
+import com.expensestracker.model.BalanceLedgerEntry;
+import com.expensestracker.model.BalanceSnapshot;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.BalanceLedgerRepository;
+import com.expensestracker.repository.BalanceSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only balance ledger plus periodic per-account snapshots. The balance of an account
+ * at any date is the latest snapshot on or before that date plus the ledger deltas since,
+ * so as-of queries never scan the full history.
+ */
+@Service
+public class BalanceLedgerService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BalanceLedgerService.class);
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO balance_ledger (account_id, transaction_id, entry_type, amount_delta, entry_date, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final BalanceLedgerRepository balanceLedgerRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    public BalanceLedgerService(BalanceLedgerRepository balanceLedgerRepository,
+                                BalanceSnapshotRepository balanceSnapshotRepository,
+                                AccountRepository accountRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.balanceLedgerRepository = balanceLedgerRepository;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Transactional
+    public void append(Long accountId, Long transactionId, BalanceLedgerEntry.EntryType entryType,
+                       BigDecimal delta, LocalDate entryDate) {
+        balanceLedgerRepository.save(new BalanceLedgerEntry(accountId, transactionId, entryType, delta, entryDate));
+        invalidateSnapshots(accountId, entryDate);
+    }
+    
+    // Bulk writers append all their entries with one JDBC batch
+    @Transactional
+    public void appendAll(List<BalanceLedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (BalanceLedgerEntry entry : entries) {
+            rows.add(new Object[] {
+                    entry.getAccountId(),
+                    entry.getTransactionId(),
+                    entry.getEntryType().name(),
+                    entry.getAmountDelta(),
+                    Date.valueOf(entry.getEntryDate()),
+                    now
+            });
+            invalidateSnapshots(entry.getAccountId(), entry.getEntryDate());
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+    
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAsOf(Long accountId, LocalDate asOf) {
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+                .findFirstByAccountIdAndAsOfDateLessThanEqualOrderByAsOfDateDesc(accountId, asOf);
+        if (snapshot.isPresent()) {
+            return snapshot.get().getBalance().add(balanceLedgerRepository
+                    .sumDeltasBetween(accountId, snapshot.get().getAsOfDate(), asOf));
+        }
+        return balanceLedgerRepository.sumDeltasUpTo(accountId, asOf);
+    }
+    
+    @Transactional
+    public void deleteForAccount(Long accountId) {
+        balanceSnapshotRepository.deleteByAccountId(accountId);
+        balanceLedgerRepository.deleteByAccountId(accountId);
+    }
+    
+    // Snapshots are taken up to yesterday, so entries dated today never invalidate one
+    private void invalidateSnapshots(Long accountId, LocalDate entryDate) {
+        if (entryDate.isBefore(LocalDate.now())) {
+            balanceSnapshotRepository.deleteFrom(accountId, entryDate);
+        }
+    }
+    
+    // Nightly: snapshot every account as of the end of yesterday, each in its own short transaction
+    @Scheduled(cron = "${ledger.snapshot.cron:0 15 2 * * *}")
+    public void takeSnapshots() {
+        LocalDate asOf = LocalDate.now().minusDays(1);
+        int taken = 0;
+        for (Long accountId : accountRepository.findAllAccountIds()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> takeSnapshot(accountId, asOf)))) {
+                taken++;
+            }
+        }
+        log.info("Took {} balance snapshots as of {}", taken, asOf);
+    }
+    
+    // Under the account row lock, a back-dated write either committed before the balance is
+    // read (and is included) or waits and then deletes the new snapshot in invalidateSnapshots
+    private boolean takeSnapshot(Long accountId, LocalDate asOf) {
+        if (accountRepository.lockById(accountId).isEmpty()
+                || balanceSnapshotRepository.existsByAccountIdAndAsOfDate(accountId, asOf)) {
+            return false;
+        }
+        balanceSnapshotRepository.save(new BalanceSnapshot(accountId, asOf, getBalanceAsOf(accountId, asOf)));
+        return true;
+    }
+    
+    // Seed the ledger from existing accounts and transactions on the first start after it was introduced
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (balanceLedgerRepository.count() == 0 && accountRepository.count() > 0) {
+            int opening = balanceLedgerRepository.backfillOpeningEntries();
+            int transactions = balanceLedgerRepository.backfillTransactionEntries();
+            log.info("Backfilled balance ledger with {} opening and {} transaction entries", opening, transactions);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.expensestracker.service;
+
+import com.expensestracker.event.BudgetThresholdCrossedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Default in-process consumer of budget alerts, fed by OutboxDispatcher after the change commits
+@Component
+public class BudgetAlertListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(BudgetAlertListener.class);
+    
+    @EventListener
+    public void onThresholdCrossed(BudgetThresholdCrossedEvent event) {
+        log.warn("Budget alert: budget {} for user {} is at {}% ({} of {})",
+                event.budgetId(), event.userId(), event.thresholdPercent(),
+                event.spentAmount(), event.amountLimit());
+    }
+}
@@ -0,0 +1,110 @@
+package com.expensestracker.service;
+
+import com.expensestracker.event.BudgetThresholdCrossedEvent;
+import com.expensestracker.repository.BudgetCounterRow;
+import com.expensestracker.repository.BudgetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps a running spend counter on each budget and raises threshold alerts as transactions
+ * are recorded, instead of re-summing transactions. Each change costs one UPDATE on the
+ * budgets covering the transaction (usually none or one), plus a read of those rows when
+ * any matched. Crossings are detected with a conditional level update so concurrent writers
+ * raise each alert exactly once; the alert is written to the outbox and delivered from there.
+ */
+@Service
+public class BudgetAlertService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BudgetAlertService.class);
+    
+    // Alert thresholds as percent of the limit, highest first
+    private static final int[] THRESHOLDS = {100, 80};
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+    
+    private final BudgetRepository budgetRepository;
+    private final OutboxService outboxService;
+    
+    public BudgetAlertService(BudgetRepository budgetRepository, OutboxService outboxService) {
+        this.budgetRepository = budgetRepository;
+        this.outboxService = outboxService;
+    }
+    
+    // Apply a transaction amount (negative when a transaction is removed) to matching budgets
+    @Transactional
+    public void recordSpend(Long userId, Long categoryId, LocalDate date, BigDecimal amount) {
+        if (budgetRepository.addToSpent(userId, categoryId, date, amount) == 0) {
+            return;
+        }
+        budgetRepository.findCounters(userId, categoryId, date).forEach(this::evaluate);
+    }
+    
+    // Re-derive the counter after the budget's limit, window or category changed
+    @Transactional
+    public void recomputeBudget(Long budgetId) {
+        budgetRepository.recomputeSpent(budgetId);
+        budgetRepository.findCounter(budgetId).ifPresent(this::evaluate);
+    }
+    
+    // Bulk changes (imports, account deletes) re-derive all of the user's counters at once
+    @Transactional
+    public void recomputeForUser(Long userId) {
+        if (budgetRepository.recomputeSpentForUser(userId) == 0) {
+            return;
+        }
+        budgetRepository.findCountersByUserId(userId).forEach(this::evaluate);
+    }
+    
+    // Budgets created before counters existed start with a null counter
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeCounters() {
+        int initialized = budgetRepository.initializeMissingSpent();
+        if (initialized > 0) {
+            log.info("Initialized spend counters for {} budgets", initialized);
+        }
+    }
+    
+    private void evaluate(BudgetCounterRow counter) {
+        if (counter.getSpentAmount() == null) {
+            return;
+        }
+        int level = levelFor(counter.getSpentAmount(), counter.getAmountLimit());
+        if (level > counter.getAlertLevel()) {
+            if (budgetRepository.raiseAlertLevel(counter.getBudgetId(), level) == 1) {
+                raise(new BudgetThresholdCrossedEvent(counter.getBudgetId(), counter.getUserId(),
+                        counter.getCategoryId(), level, counter.getSpentAmount(), counter.getAmountLimit()));
+            }
+        } else if (level < counter.getAlertLevel()) {
+            // Spend fell back below a threshold, so crossing it again alerts again
+            budgetRepository.lowerAlertLevel(counter.getBudgetId(), level);
+        }
+    }
+    
+    // Highest threshold reached, or 0; also used by bulk loaders that write counters directly
+    public static int levelFor(BigDecimal spent, BigDecimal limit) {
+        if (limit.signum() <= 0) {
+            return 0;
+        }
+        BigDecimal percent = spent.multiply(ONE_HUNDRED);
+        for (int threshold : THRESHOLDS) {
+            if (percent.compareTo(limit.multiply(BigDecimal.valueOf(threshold))) >= 0) {
+                return threshold;
+            }
+        }
+        return 0;
+    }
+    
+    private void raise(BudgetThresholdCrossedEvent event) {
+        outboxService.record("Budget", event.budgetId(), event);
+        log.info("Budget {} reached {}% of its limit", event.budgetId(), event.thresholdPercent());
+    }
+}
@@ -2,42 +2,54 @@ package com.expensestracker.service;
 
 import com.expensestracker.dto.request.BudgetRequest;
 import com.expensestracker.dto.response.BudgetResponse;
+import com.expensestracker.event.BudgetChangedEvent;
+import com.expensestracker.event.ChangeType;
 import com.expensestracker.model.Budget;
 import com.expensestracker.model.Category;
 import com.expensestracker.model.User;
 import com.expensestracker.repository.BudgetRepository;
-import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.BudgetUtilizationRow;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("expenses.service")
 public class BudgetService {
     
     private static final Logger log = LoggerFactory.getLogger(BudgetService.class);
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
     
     private final BudgetRepository budgetRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
     private final UserService userService;
+    private final BudgetAlertService budgetAlertService;
+    private final OutboxService outboxService;
     
-    public BudgetService(BudgetRepository budgetRepository, CategoryRepository categoryRepository, 
-                        UserService userService) {
+    public BudgetService(BudgetRepository budgetRepository, CategoryCache categoryCache, 
+                        UserService userService, BudgetAlertService budgetAlertService,
+                        OutboxService outboxService) {
         this.budgetRepository = budgetRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryCache = categoryCache;
         this.userService = userService;
+        this.budgetAlertService = budgetAlertService;
+        this.outboxService = outboxService;
     }
     
     @Transactional
     public BudgetResponse createBudget(Long userId, BudgetRequest request) {
         log.info("Creating budget for user: {} with category: {}", userId, request.getCategoryId());
         
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryCache.findVisible(userId, request.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         
         Budget budget = new Budget();
@@ -49,13 +61,16 @@ public class BudgetService {
         
         Budget savedBudget = budgetRepository.save(budget);
         log.info("Budget created with ID: {}", savedBudget.getBudgetId());
+        budgetAlertService.recomputeBudget(savedBudget.getBudgetId());
+        outboxService.record("Budget", savedBudget.getBudgetId(), new BudgetChangedEvent(
+                savedBudget.getBudgetId(), userId, category.getCategoryId(), ChangeType.CREATED));
         
-        return mapToResponse(savedBudget);
+        return getUtilization(userId, savedBudget.getBudgetId());
     }
     
     @Transactional(readOnly = true)
     public List<BudgetResponse> getUserBudgets(Long userId) {
-        return budgetRepository.findByUser_UserId(userId)
+        return budgetRepository.findUtilizationByUserId(userId)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -63,10 +78,7 @@ public class BudgetService {
     
     @Transactional(readOnly = true)
     public BudgetResponse getBudgetById(Long userId, Long budgetId) {
-        Budget budget = budgetRepository.findByBudgetIdAndUser_UserId(budgetId, userId)
-                .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
-        
-        return mapToResponse(budget);
+        return getUtilization(userId, budgetId);
     }
     
     @Transactional
@@ -74,7 +86,7 @@ public class BudgetService {
         Budget budget = budgetRepository.findByBudgetIdAndUser_UserId(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
         
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryCache.findVisible(userId, request.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         
         budget.setCategory(category);
@@ -82,10 +94,13 @@ public class BudgetService {
         budget.setStartDate(request.getStartDate());
         budget.setEndDate(request.getEndDate());
         
-        Budget updatedBudget = budgetRepository.save(budget);
+        budgetRepository.saveAndFlush(budget);
         log.info("Budget updated: {}", budgetId);
+        budgetAlertService.recomputeBudget(budgetId);
+        outboxService.record("Budget", budgetId,
+                new BudgetChangedEvent(budgetId, userId, category.getCategoryId(), ChangeType.UPDATED));
         
-        return mapToResponse(updatedBudget);
+        return getUtilization(userId, budgetId);
     }
     
     @Transactional
@@ -94,18 +109,35 @@ public class BudgetService {
                 .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
         
         budgetRepository.delete(budget);
+        outboxService.record("Budget", budgetId, new BudgetChangedEvent(
+                budgetId, userId, budget.getCategory().getCategoryId(), ChangeType.DELETED));
         log.info("Budget deleted: {}", budgetId);
     }
     
-    private BudgetResponse mapToResponse(Budget budget) {
+    private BudgetResponse getUtilization(Long userId, Long budgetId) {
+        return budgetRepository.findUtilizationByBudgetIdAndUserId(budgetId, userId)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new RuntimeException("Budget not found or access denied"));
+    }
+    
+    private BudgetResponse mapToResponse(BudgetUtilizationRow row) {
+        BigDecimal spent = row.getSpent();
+        BigDecimal limit = row.getAmountLimit();
+        // Remaining goes negative once the budget is overspent
+        BigDecimal percentUsed = limit.signum() > 0
+                ? spent.multiply(ONE_HUNDRED).divide(limit, 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
         return BudgetResponse.builder()
-                .budgetId(budget.getBudgetId())
-                .categoryId(budget.getCategory().getCategoryId())
-                .categoryName(budget.getCategory().getName())
-                .categoryType(budget.getCategory().getType().name())
-                .amountLimit(budget.getAmountLimit())
-                .startDate(budget.getStartDate())
-                .endDate(budget.getEndDate())
+                .budgetId(row.getBudgetId())
+                .categoryId(row.getCategoryId())
+                .categoryName(row.getCategoryName())
+                .categoryType(row.getCategoryType().name())
+                .amountLimit(limit)
+                .startDate(row.getStartDate())
+                .endDate(row.getEndDate())
+                .spentAmount(spent)
+                .remainingAmount(limit.subtract(spent))
+                .percentUsed(percentUsed)
                 .build();
     }
 }
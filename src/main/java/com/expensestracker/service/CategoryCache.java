@@ -0,0 +1,111 @@
+package com.expensestracker.service;
+
+import com.expensestracker.model.Category;
+import com.expensestracker.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory view of the categories each user can see, so the write paths resolve a category
+ * without a database round trip. Entries are immutable id-ordered maps of the user's own
+ * detached entities; they are replaced, never mutated, and dropped whenever the owning user's
+ * categories change. System categories come from the {@link SystemCategoryRegistry}.
+ */
+@Service
+public class CategoryCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(CategoryCache.class);
+    
+    private final CategoryRepository categoryRepository;
+    private final SystemCategoryRegistry systemCategories;
+    private final LoadingCache<Long, Map<Long, Category>> categoriesByOwner;
+    
+    public CategoryCache(CategoryRepository categoryRepository,
+                         SystemCategoryRegistry systemCategories,
+                         MeterRegistry meterRegistry,
+                         @Value("${category.cache.max-size:10000}") long maxSize,
+                         @Value("${category.cache.ttl-minutes:30}") long ttlMinutes) {
+        this.categoryRepository = categoryRepository;
+        this.systemCategories = systemCategories;
+        this.categoriesByOwner = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(this::load);
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=categories
+        CaffeineCacheMetrics.monitor(meterRegistry, categoriesByOwner, "categories");
+    }
+    
+    // Category the user may reference: one of their own or a system category
+    public Optional<Category> findVisible(Long userId, Long categoryId) {
+        Category own = categoriesByOwner.get(userId).get(categoryId);
+        if (own != null) {
+            return Optional.of(own);
+        }
+        return systemCategories.find(categoryId);
+    }
+    
+    // System categories followed by the user's own, keyed and ordered by id
+    public Map<Long, Category> getVisible(Long userId) {
+        List<Category> visible = new ArrayList<>(systemCategories.getAll());
+        visible.addAll(categoriesByOwner.get(userId).values());
+        visible.sort(Comparator.comparing(Category::getCategoryId));
+        Map<Long, Category> byId = new LinkedHashMap<>();
+        visible.forEach(category -> byId.put(category.getCategoryId(), category));
+        return Collections.unmodifiableMap(byId);
+    }
+    
+    // Drop the user's entry now and again once the surrounding transaction commits,
+    // so a concurrent reader cannot re-cache the pre-commit rows
+    public void invalidateUser(Long userId) {
+        categoriesByOwner.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoriesByOwner.invalidate(userId);
+                }
+            });
+        }
+    }
+    
+    public void invalidateAll() {
+        categoriesByOwner.invalidateAll();
+    }
+    
+    public CacheStats stats() {
+        return categoriesByOwner.stats();
+    }
+    
+    public long size() {
+        return categoriesByOwner.estimatedSize();
+    }
+    
+    private Map<Long, Category> load(Long userId) {
+        List<Category> categories = categoryRepository.findByUser_UserId(userId);
+        log.debug("Loaded {} categories for user {}", categories.size(), userId);
+        Map<Long, Category> byId = new LinkedHashMap<>();
+        categories.stream()
+                .sorted(Comparator.comparing(Category::getCategoryId))
+                .forEach(category -> byId.put(category.getCategoryId(), category));
+        return Collections.unmodifiableMap(byId);
+    }
+}
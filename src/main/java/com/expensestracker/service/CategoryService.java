@@ -5,6 +5,7 @@ import com.expensestracker.dto.response.CategoryResponse;
 import com.expensestracker.model.Category;
 import com.expensestracker.model.User;
 import com.expensestracker.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -14,23 +15,32 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("expenses.service")
 public class CategoryService {
     
     private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
     
     private final CategoryRepository categoryRepository;
     private final UserService userService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final CategoryCache categoryCache;
+    private final SystemCategoryRegistry systemCategoryRegistry;
     
-    public CategoryService(CategoryRepository categoryRepository, UserService userService) {
+    public CategoryService(CategoryRepository categoryRepository, UserService userService,
+                           MonthlyRollupService monthlyRollupService, CategoryCache categoryCache,
+                           SystemCategoryRegistry systemCategoryRegistry) {
         this.categoryRepository = categoryRepository;
         this.userService = userService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.categoryCache = categoryCache;
+        this.systemCategoryRegistry = systemCategoryRegistry;
     }
     
     @Transactional
     public CategoryResponse createCategory(Long userId, CategoryRequest request) {
         log.info("Creating category for user: {}", userId);
         
-        User user = userService.getUserById(userId);
+        User user = userService.getUserReference(userId);
         
         Category category = new Category();
         category.setUser(user);
@@ -41,22 +51,22 @@ public class CategoryService {
         }
         
         Category savedCategory = categoryRepository.save(category);
+        categoryCache.invalidateUser(userId);
         log.info("Category created with ID: {}", savedCategory.getCategoryId());
         
         return mapToResponse(savedCategory);
     }
     
-    @Transactional(readOnly = true)
+    // Served from the category cache; only a miss touches the database
     public List<CategoryResponse> getAllCategories(Long userId) {
-        return categoryRepository.findByUserIdOrSystemCategories(userId)
+        return categoryCache.getVisible(userId).values()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
-    @Transactional(readOnly = true)
     public List<CategoryResponse> getSystemCategories() {
-        return categoryRepository.findByUserIsNull()
+        return systemCategoryRegistry.getAll()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -72,6 +82,8 @@ public class CategoryService {
         }
         
         categoryRepository.delete(category);
+        monthlyRollupService.deleteForCategory(categoryId);
+        categoryCache.invalidateUser(userId);
         log.info("Category deleted: {}", categoryId);
     }
     
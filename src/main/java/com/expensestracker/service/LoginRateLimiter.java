@@ -0,0 +1,79 @@
+package com.expensestracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login attempt limits per email and per client address. A window opens with the
+ * first attempt and lasts security.login.rate-limit.window-seconds; a limit of 0 disables it.
+ * Counters live in memory, so each instance enforces its own limits.
+ */
+@Service
+public class LoginRateLimiter {
+    
+    private final int perEmail;
+    private final int perAddress;
+    private final long windowSeconds;
+    private final Cache<String, AtomicInteger> attemptsByEmail;
+    private final Cache<String, AtomicInteger> attemptsByAddress;
+    
+    public LoginRateLimiter(@Value("${security.login.rate-limit.per-email:10}") int perEmail,
+                            @Value("${security.login.rate-limit.per-ip:100}") int perAddress,
+                            @Value("${security.login.rate-limit.window-seconds:60}") long windowSeconds) {
+        this.perEmail = perEmail;
+        this.perAddress = perAddress;
+        this.windowSeconds = windowSeconds;
+        this.attemptsByEmail = window(windowSeconds);
+        this.attemptsByAddress = window(windowSeconds);
+    }
+    
+    // Counts one attempt against both limits; throws when either is exceeded
+    public void acquire(String email, String clientAddress) {
+        if (perAddress > 0 && clientAddress != null && exceeds(attemptsByAddress, clientAddress, perAddress)) {
+            throw new LimitExceededException(windowSeconds);
+        }
+        if (perEmail > 0 && email != null && exceeds(attemptsByEmail, normalize(email), perEmail)) {
+            throw new LimitExceededException(windowSeconds);
+        }
+    }
+    
+    // A successful login clears the email's failed attempts
+    public void reset(String email) {
+        attemptsByEmail.invalidate(normalize(email));
+    }
+    
+    private static boolean exceeds(Cache<String, AtomicInteger> attempts, String key, int limit) {
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet() > limit;
+    }
+    
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static Cache<String, AtomicInteger> window(long windowSeconds) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .maximumSize(100_000)
+                .build();
+    }
+    
+    public static class LimitExceededException extends RuntimeException {
+        
+        private final long retryAfterSeconds;
+        
+        public LimitExceededException(long retryAfterSeconds) {
+            super("Too many login attempts, please try again later");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+        
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
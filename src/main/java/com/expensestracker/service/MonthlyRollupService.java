@@ -0,0 +1,114 @@
+package com.expensestracker.service;
+
+import com.expensestracker.model.Transaction;
+import com.expensestracker.repository.MonthlyRollupRepository;
+import com.expensestracker.repository.TransactionRepository;
+import com.expensestracker.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+public class MonthlyRollupService {
+    
+    private static final Logger log = LoggerFactory.getLogger(MonthlyRollupService.class);
+    
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository,
+                                TransactionRepository transactionRepository,
+                                UserRepository userRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    // Called inside the caller's transaction so the rollup commits with the write
+    @Transactional
+    public void recordTransaction(Long userId, Transaction transaction) {
+        monthlyRollupRepository.applyDelta(userId,
+                transaction.getCategory().getCategoryId(),
+                transaction.getTransactionDate().withDayOfMonth(1),
+                transaction.getTransactionType().name(),
+                transaction.getAmount(), 1);
+    }
+    
+    @Transactional
+    public void reverseTransaction(Long userId, Transaction transaction) {
+        if (transaction.getTransactionType() == null) {
+            // Legacy rows without a type were never rolled up
+            return;
+        }
+        apply(userId, transaction.getCategory().getCategoryId(),
+                transaction.getTransactionDate().withDayOfMonth(1),
+                transaction.getTransactionType().name(),
+                transaction.getAmount().negate(), -1);
+    }
+    
+    // Bulk writers pre-aggregate per bucket and apply each bucket once
+    @Transactional
+    public void applyDelta(Long userId, Long categoryId, LocalDate monthStart,
+                           Transaction.TransactionType transactionType, BigDecimal amount, long count) {
+        apply(userId, categoryId, monthStart, transactionType.name(), amount, count);
+    }
+    
+    // Removals can empty a bucket; remove it rather than keep a zero-count row
+    private void apply(Long userId, Long categoryId, LocalDate monthStart, String transactionType,
+                       BigDecimal amount, long count) {
+        monthlyRollupRepository.applyDelta(userId, categoryId, monthStart, transactionType, amount, count);
+        if (count < 0) {
+            monthlyRollupRepository.deleteIfEmpty(userId, categoryId, monthStart, transactionType);
+        }
+    }
+    
+    @Transactional
+    public void rebuildForUser(Long userId) {
+        int buckets = rebuild(userId);
+        log.info("Rebuilt {} rollup rows for user {}", buckets, userId);
+    }
+    
+    private int rebuild(Long userId) {
+        monthlyRollupRepository.deleteByUserId(userId);
+        return monthlyRollupRepository.rebuildForUser(userId);
+    }
+    
+    @Transactional
+    public void deleteForCategory(Long categoryId) {
+        monthlyRollupRepository.deleteByCategoryId(categoryId);
+    }
+    
+    // Nightly repair: recompute every user's buckets, each user in its own short transaction so
+    // concurrent writes only ever wait on one user's rows, never on a whole-table rebuild
+    @Scheduled(cron = "${rollup.rebuild.cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        int buckets = 0;
+        for (Long userId : userRepository.findAllUserIds()) {
+            buckets += transactionTemplate.execute(status -> rebuild(userId));
+        }
+        log.info("Rebuilt {} rollup rows in {} ms", buckets, System.currentTimeMillis() - started);
+    }
+    
+    // Backfill on the first start after the rollup table was introduced
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (monthlyRollupRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("Rollup table empty, backfilling from transactions");
+            rebuildAll();
+        }
+    }
+}
\ No newline at end of file
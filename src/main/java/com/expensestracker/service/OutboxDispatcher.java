@@ -0,0 +1,183 @@
+package com.expensestracker.service;
+
+import com.expensestracker.model.OutboxEvent;
+import com.expensestracker.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the outbox in batches and publishes each event to in-process listeners
+ * (plain {@code @EventListener} methods on the event type).
+ *
+ * <p>Delivery is at-least-once: an event is marked published only after every listener
+ * returned, so a crash or listener failure means it is delivered again on a later pass and
+ * listeners must tolerate duplicates. A batch is split into {@code parallelism} lanes by
+ * aggregate, so events for the same budget, account or user stay in order while different
+ * aggregates are delivered concurrently. An event whose delivery keeps failing is parked
+ * after {@code max-attempts}, and later events of its aggregate wait behind it until then.
+ */
+@Service
+public class OutboxDispatcher {
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final String EVENT_PACKAGE = "com.expensestracker.event.";
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final int retentionDays;
+    private final ExecutorService lanes;
+    
+    // Scheduled and manual drains must not overlap, or the same batch would be delivered twice
+    private final ReentrantLock draining = new ReentrantLock();
+    
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper,
+                            @Value("${outbox.dispatch.batch-size:500}") int batchSize,
+                            @Value("${outbox.dispatch.parallelism:4}") int parallelism,
+                            @Value("${outbox.dispatch.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.retention-days:7}") int retentionDays) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.lanes = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval-ms:1000}",
+               initialDelayString = "${outbox.dispatch.initial-delay-ms:5000}")
+    public void poll() {
+        // Keep draining while full batches are delivered, then wait for the next tick
+        while (dispatchPending() == batchSize) {
+            log.debug("Outbox backlog remains, dispatching next batch");
+        }
+    }
+    
+    // Deliver one batch; returns the number of events delivered
+    public int dispatchPending() {
+        if (!draining.tryLock()) {
+            return 0;
+        }
+        try {
+            List<OutboxEvent> batch = outboxEventRepository.findPending(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            
+            List<List<OutboxEvent>> byLane = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                byLane.add(new ArrayList<>());
+            }
+            for (OutboxEvent event : batch) {
+                int lane = Math.floorMod(Objects.hash(event.getAggregateType(), event.getAggregateId()), parallelism);
+                byLane.get(lane).add(event);
+            }
+            
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (List<OutboxEvent> laneEvents : byLane) {
+                if (!laneEvents.isEmpty()) {
+                    results.add(lanes.submit(() -> deliver(laneEvents)));
+                }
+            }
+            
+            List<Long> published = new ArrayList<>();
+            for (Future<List<Long>> result : results) {
+                try {
+                    published.addAll(result.get());
+                } catch (ExecutionException e) {
+                    log.error("Outbox lane failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (!published.isEmpty()) {
+                outboxEventRepository.markPublished(published, LocalDateTime.now());
+            }
+            log.debug("Dispatched {} of {} outbox events", published.size(), batch.size());
+            return published.size();
+        } finally {
+            draining.unlock();
+        }
+    }
+    
+    @Scheduled(cron = "${outbox.purge.cron:0 45 2 * * *}")
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        log.info("Purged {} published outbox events", deleted);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        lanes.shutdown();
+    }
+    
+    // Delivers a lane's events in order and returns the ids that were delivered
+    private List<Long> deliver(List<OutboxEvent> events) {
+        List<Long> delivered = new ArrayList<>();
+        Set<String> blocked = new HashSet<>();
+        for (OutboxEvent event : events) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blocked.contains(aggregate)) {
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(deserialize(event));
+                delivered.add(event.getEventId());
+            } catch (Exception e) {
+                // Hold back the rest of this aggregate's events so they are not delivered out of order
+                blocked.add(aggregate);
+                log.warn("Delivery of outbox event {} ({}) failed: {}",
+                        event.getEventId(), event.getEventType(), e.getMessage());
+                String error = String.valueOf(e.getMessage());
+                boolean giveUp = event.getAttempts() + 1 >= maxAttempts;
+                if (giveUp) {
+                    log.error("Parking outbox event {} after {} attempts", event.getEventId(), maxAttempts);
+                }
+                outboxEventRepository.recordFailure(event.getEventId(),
+                        error.length() > 500 ? error.substring(0, 500) : error,
+                        giveUp ? LocalDateTime.now() : null);
+            }
+        }
+        return delivered;
+    }
+    
+    private Object deserialize(OutboxEvent event) throws Exception {
+        if (!event.getEventType().startsWith(EVENT_PACKAGE)) {
+            throw new IllegalStateException("Unexpected outbox event type " + event.getEventType());
+        }
+        return objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+    }
+}
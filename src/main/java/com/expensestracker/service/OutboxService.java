@@ -0,0 +1,38 @@
+package com.expensestracker.service;
+
+import com.expensestracker.model.OutboxEvent;
+import com.expensestracker.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records domain events in the outbox table as part of the caller's transaction, so an event
+ * is stored exactly when the change it describes commits. Delivery to listeners happens later
+ * on OutboxDispatcher's threads, never on the request thread.
+ */
+@Service
+public class OutboxService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Must join the transaction that makes the change; without one the event could outlive a rollback
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, Long aggregateId, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialise " + event.getClass().getSimpleName(), e);
+        }
+        outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, event.getClass().getName(), payload));
+    }
+}
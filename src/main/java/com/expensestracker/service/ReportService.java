@@ -1,8 +1,12 @@
 package com.expensestracker.service;
 
 import com.expensestracker.dto.response.ReportResponse;
+import com.expensestracker.model.Category;
 import com.expensestracker.model.Transaction;
+import com.expensestracker.repository.MonthlyRollupRepository;
 import com.expensestracker.repository.TransactionRepository;
+import com.expensestracker.repository.TransactionSummaryRow;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -11,41 +15,50 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@Timed("expenses.service")
 public class ReportService {
     
     private static final Logger log = LoggerFactory.getLogger(ReportService.class);
     
     private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
     
-    public ReportService(TransactionRepository transactionRepository) {
+    public ReportService(TransactionRepository transactionRepository,
+                         MonthlyRollupRepository monthlyRollupRepository) {
         this.transactionRepository = transactionRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
     }
     
     @Transactional(readOnly = true)
     public ReportResponse generateMonthlyReport(Long userId, LocalDate startDate, LocalDate endDate) {
         log.info("Generating report for user {} from {} to {}", userId, startDate, endDate);
         
-        // Get all transactions for the date range
-        List<Transaction> transactions = transactionRepository
-                .findByAccount_User_UserIdAndTransactionDateBetweenOrderByTransactionDateDesc(userId, startDate, endDate);
-        
-        // Calculate totals
-        BigDecimal totalIncome = transactions.stream()
-                .filter(t -> t.getTransactionType() == Transaction.TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal totalExpenses = transactions.stream()
-                .filter(t -> t.getTransactionType() == Transaction.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<TransactionSummaryRow> rows = summarize(userId, startDate, endDate);
         
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpenses = BigDecimal.ZERO;
         BigDecimal needsSpending = BigDecimal.ZERO;
         BigDecimal wantsSpending = BigDecimal.ZERO;
         
+        for (TransactionSummaryRow row : rows) {
+            BigDecimal total = row.getTotal() != null ? row.getTotal() : BigDecimal.ZERO;
+            if (row.getTransactionType() == Transaction.TransactionType.INCOME) {
+                totalIncome = totalIncome.add(total);
+            } else if (row.getTransactionType() == Transaction.TransactionType.EXPENSE) {
+                totalExpenses = totalExpenses.add(total);
+                if (row.getClassification() == Category.CategoryClassification.NEED) {
+                    needsSpending = needsSpending.add(total);
+                } else if (row.getClassification() == Category.CategoryClassification.WANT) {
+                    wantsSpending = wantsSpending.add(total);
+                }
+            }
+        }
+        
         BigDecimal savingsAmount = BigDecimal.ZERO;
         
         BigDecimal netBalance = totalIncome.subtract(totalExpenses);
@@ -85,4 +98,31 @@ public class ReportService {
                 .savingsPercentage(savingsPercentage)
                 .build();
     }
-}
\ No newline at end of file
+    
+    // Whole months come from the rollup table; partial months at either edge of the
+    // range fall back to a grouped query on the raw transactions.
+    private List<TransactionSummaryRow> summarize(Long userId, LocalDate startDate, LocalDate endDate) {
+        LocalDate firstFullMonth = startDate.getDayOfMonth() == 1
+                ? startDate
+                : startDate.plusMonths(1).withDayOfMonth(1);
+        LocalDate lastFullMonthEnd = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? endDate
+                : endDate.withDayOfMonth(1).minusDays(1);
+        
+        if (firstFullMonth.isAfter(lastFullMonthEnd)) {
+            return transactionRepository.summarizeByTypeAndClassification(userId, startDate, endDate);
+        }
+        
+        List<TransactionSummaryRow> rows = new ArrayList<>(monthlyRollupRepository
+                .summarizeByTypeAndClassification(userId, firstFullMonth, lastFullMonthEnd.withDayOfMonth(1)));
+        if (startDate.isBefore(firstFullMonth)) {
+            rows.addAll(transactionRepository
+                    .summarizeByTypeAndClassification(userId, startDate, firstFullMonth.minusDays(1)));
+        }
+        if (endDate.isAfter(lastFullMonthEnd)) {
+            rows.addAll(transactionRepository
+                    .summarizeByTypeAndClassification(userId, lastFullMonthEnd.plusDays(1), endDate));
+        }
+        return rows;
+    }
+}
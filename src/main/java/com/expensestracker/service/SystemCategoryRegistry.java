@@ -0,0 +1,77 @@
+package com.expensestracker.service;
+
+import com.expensestracker.model.Category;
+import com.expensestracker.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The global system categories (user IS NULL), held as an immutable id-indexed snapshot.
+ * Loaded once when the application is ready and replaced wholesale by {@link #refresh()},
+ * so readers always see either the old or the new set and never query the database.
+ */
+@Service
+public class SystemCategoryRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(SystemCategoryRegistry.class);
+    
+    private final CategoryRepository categoryRepository;
+    
+    // Swapped as a whole on refresh; the maps and lists themselves are never mutated
+    private volatile Snapshot snapshot;
+    
+    public SystemCategoryRegistry(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+    
+    public synchronized int refresh() {
+        List<Category> categories = categoryRepository.findByUserIsNull().stream()
+                .sorted(Comparator.comparing(Category::getCategoryId))
+                .toList();
+        Map<Long, Category> byId = new LinkedHashMap<>();
+        categories.forEach(category -> byId.put(category.getCategoryId(), category));
+        snapshot = new Snapshot(Collections.unmodifiableMap(byId), categories);
+        log.info("System category registry loaded with {} categories", categories.size());
+        return categories.size();
+    }
+    
+    public Optional<Category> find(Long categoryId) {
+        return Optional.ofNullable(current().byId().get(categoryId));
+    }
+    
+    public List<Category> getAll() {
+        return current().ordered();
+    }
+    
+    // Requests can arrive before ApplicationReadyEvent, so load on first use if needed
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+    
+    private record Snapshot(Map<Long, Category> byId, List<Category> ordered) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.expensestracker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over (transactionDate, transactionId).
+ * Clients must treat the encoded form as an opaque string.
+ */
+public final class TransactionCursor {
+    
+    private final LocalDate transactionDate;
+    private final Long transactionId;
+    
+    public TransactionCursor(LocalDate transactionDate, Long transactionId) {
+        this.transactionDate = transactionDate;
+        this.transactionId = transactionId;
+    }
+    
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, sep)),
+                                         Long.valueOf(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        String raw = transactionDate + ":" + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+    
+    public Long getTransactionId() {
+        return transactionId;
+    }
+}
@@ -0,0 +1,133 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.response.TransactionResponse;
+import com.expensestracker.model.Transaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams a user's full transaction history straight to an output stream. Rows come from a
+ * forward-only cursor and the persistence context is cleared periodically, so memory use is
+ * independent of history size.
+ */
+@Service
+public class TransactionExportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportService.class);
+    
+    private static final int CLEAR_INTERVAL = 500;
+    
+    // Forward-only read of a user's full history, account and category fetched in the same row
+    private static final String STREAM_QUERY = "SELECT t FROM Transaction t JOIN FETCH t.account a " +
+            "JOIN FETCH t.category c WHERE t.userId = :userId ORDER BY t.transactionDate DESC, t.transactionId DESC";
+    
+    static final String CSV_HEADER = "transactionId,accountId,accountName,categoryId,categoryName," +
+            "categoryType,amount,transactionType,description,transactionDate";
+    
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+    
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+    
+    public TransactionExportService(EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${transactions.export.fetch-size:-2147483648}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+    
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        log.info("Exporting transactions for user {} as {}", userId, format);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // The generator must neither close nor flush the servlet stream on every row, and must not
+        // put its default root separator (a space) before each object after the first
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .setRootValueSeparator(null);
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        long count = 0;
+        try (Stream<Transaction> rows = entityManager.createQuery(STREAM_QUERY, Transaction.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Transaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                TransactionResponse response = TransactionMapper.toResponse(iterator.next());
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, response);
+                } else {
+                    objectMapper.writeValue(json, response);
+                    json.flush();
+                    writer.write('\n');
+                }
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} transactions for user {}", count, userId);
+    }
+    
+    private void writeCsvRow(Writer writer, TransactionResponse t) throws IOException {
+        writer.write(String.valueOf(t.getTransactionId()));
+        writer.write(',');
+        writer.write(String.valueOf(t.getAccountId()));
+        writer.write(',');
+        writer.write(csvField(t.getAccountName()));
+        writer.write(',');
+        writer.write(String.valueOf(t.getCategoryId()));
+        writer.write(',');
+        writer.write(csvField(t.getCategoryName()));
+        writer.write(',');
+        writer.write(csvField(t.getCategoryType()));
+        writer.write(',');
+        writer.write(t.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvField(t.getTransactionType()));
+        writer.write(',');
+        writer.write(csvField(t.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(t.getTransactionDate()));
+        writer.write('\n');
+    }
+    
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,300 @@
+package com.expensestracker.service;
+
+import com.expensestracker.config.IdBlockAllocator;
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.TransactionImportResponse;
+import com.expensestracker.event.TransactionsImportedEvent;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.BalanceLedgerEntry;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.Transaction;
+import com.expensestracker.repository.AccountRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk transaction import. Accounts and categories are resolved once per batch, rows are
+ * written with JDBC batch inserts, and balance/rollup changes are netted and applied once
+ * per account and per rollup bucket. A batch is all-or-nothing.
+ */
+@Service
+public class TransactionImportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction (account_id, user_id, category_id, amount, transaction_date, description, " +
+            "transaction_type, transaction_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRepository accountRepository;
+    private final CategoryCache categoryCache;
+    private final MonthlyRollupService monthlyRollupService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BudgetAlertService budgetAlertService;
+    private final OutboxService outboxService;
+    private final IdBlockAllocator idBlockAllocator;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxRows;
+    
+    public TransactionImportService(JdbcTemplate jdbcTemplate,
+                                    AccountRepository accountRepository,
+                                    CategoryCache categoryCache,
+                                    MonthlyRollupService monthlyRollupService,
+                                    BalanceLedgerService balanceLedgerService,
+                                    BudgetAlertService budgetAlertService,
+                                    OutboxService outboxService,
+                                    IdBlockAllocator idBlockAllocator,
+                                    Validator validator,
+                                    @Value("${transactions.import.batch-size:1000}") int batchSize,
+                                    @Value("${transactions.import.max-rows:100000}") int maxRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountRepository = accountRepository;
+        this.categoryCache = categoryCache;
+        this.monthlyRollupService = monthlyRollupService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.budgetAlertService = budgetAlertService;
+        this.outboxService = outboxService;
+        this.idBlockAllocator = idBlockAllocator;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+    
+    @Transactional
+    public TransactionImportResponse importTransactions(Long userId, List<TransactionRequest> requests) {
+        log.info("Importing {} transactions for user: {}", requests.size(), userId);
+        
+        ImportBatch batch = new ImportBatch(userId);
+        int row = 0;
+        for (TransactionRequest request : requests) {
+            batch.add(++row, request);
+        }
+        return batch.finish();
+    }
+    
+    /**
+     * Imports a CSV stream with a header row naming the columns accountId, categoryId, amount,
+     * transactionType, transactionDate and (optionally) description. Fields may be double-quoted;
+     * quoted fields spanning several lines are not supported.
+     */
+    @Transactional
+    public TransactionImportResponse importCsv(Long userId, InputStream csv) {
+        log.info("Importing CSV transactions for user: {}", userId);
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new RuntimeException("CSV is empty");
+            }
+            Map<String, Integer> columns = parseHeader(headerLine);
+            
+            ImportBatch batch = new ImportBatch(userId);
+            int row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                row++;
+                batch.add(row, toRequest(row, parseCsvLine(line), columns));
+            }
+            return batch.finish();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read CSV: " + e.getMessage());
+        }
+    }
+    
+    private Map<String, Integer> parseHeader(String headerLine) {
+        List<String> names = parseCsvLine(headerLine.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("accountid", "categoryid", "amount", "transactiontype", "transactiondate")) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+    
+    private TransactionRequest toRequest(int row, List<String> fields, Map<String, Integer> columns) {
+        try {
+            TransactionRequest request = new TransactionRequest();
+            request.setAccountId(Long.valueOf(field(fields, columns, "accountid")));
+            request.setCategoryId(Long.valueOf(field(fields, columns, "categoryid")));
+            request.setAmount(new BigDecimal(field(fields, columns, "amount")));
+            request.setTransactionType(field(fields, columns, "transactiontype").toUpperCase(Locale.ROOT));
+            request.setTransactionDate(LocalDate.parse(field(fields, columns, "transactiondate")));
+            String description = field(fields, columns, "description");
+            request.setDescription(description.isEmpty() ? null : description);
+            return request;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Row " + row + ": malformed value (" + e.getMessage() + ")");
+        }
+    }
+    
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+    }
+    
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+    
+    private record RollupKey(Long categoryId, LocalDate monthStart, Transaction.TransactionType type) {
+    }
+    
+    private record LedgerKey(Long accountId, LocalDate entryDate) {
+    }
+    
+    // Accumulates one import: validated rows are buffered and flushed every batchSize rows
+    private class ImportBatch {
+        
+        private final Long userId;
+        private final long startedAt = System.currentTimeMillis();
+        private final Map<Long, Account> accounts;
+        private final Map<Long, Category> categories;
+        private final List<Object[]> pending = new ArrayList<>();
+        private final Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        private final Map<RollupKey, BigDecimal> rollupAmounts = new HashMap<>();
+        private final Map<RollupKey, Long> rollupCounts = new HashMap<>();
+        private final Map<LedgerKey, BigDecimal> ledgerDeltas = new HashMap<>();
+        private int imported;
+        
+        ImportBatch(Long userId) {
+            this.userId = userId;
+            this.accounts = accountRepository.findByUser_UserId(userId).stream()
+                    .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
+            this.categories = categoryCache.getVisible(userId);
+        }
+        
+        void add(int row, TransactionRequest request) {
+            if (imported >= maxRows) {
+                throw new RuntimeException("Import exceeds the limit of " + maxRows + " rows");
+            }
+            Set<ConstraintViolation<TransactionRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                throw new RuntimeException("Row " + row + ": " + violations.iterator().next().getMessage());
+            }
+            if (!accounts.containsKey(request.getAccountId())) {
+                throw new RuntimeException("Row " + row + ": Account not found or access denied");
+            }
+            Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                throw new RuntimeException("Row " + row + ": Category not found");
+            }
+            
+            Transaction.TransactionType txType = Transaction.TransactionType.valueOf(request.getTransactionType());
+            
+            // Same rule as TransactionService.addTransaction: balance follows the CATEGORY type
+            BigDecimal delta = category.getType() == Category.CategoryType.INCOME
+                    ? request.getAmount()
+                    : request.getAmount().negate();
+            balanceDeltas.merge(request.getAccountId(), delta, BigDecimal::add);
+            ledgerDeltas.merge(new LedgerKey(request.getAccountId(), request.getTransactionDate()),
+                    delta, BigDecimal::add);
+            
+            RollupKey key = new RollupKey(category.getCategoryId(),
+                    request.getTransactionDate().withDayOfMonth(1), txType);
+            rollupAmounts.merge(key, request.getAmount(), BigDecimal::add);
+            rollupCounts.merge(key, 1L, Long::sum);
+            
+            pending.add(new Object[] {
+                    request.getAccountId(),
+                    userId,
+                    category.getCategoryId(),
+                    request.getAmount(),
+                    Date.valueOf(request.getTransactionDate()),
+                    request.getDescription(),
+                    txType.name(),
+                    null // transaction_id, assigned from a reserved block on flush
+            });
+            imported++;
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+        
+        private void flush() {
+            if (!pending.isEmpty()) {
+                long nextId = idBlockAllocator.reserve(Transaction.ID_SEQUENCE, pending.size());
+                for (Object[] row : pending) {
+                    row[row.length - 1] = nextId++;
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, pending);
+                pending.clear();
+            }
+        }
+        
+        TransactionImportResponse finish() {
+            flush();
+            balanceDeltas.forEach(accountRepository::adjustBalance);
+            rollupAmounts.forEach((key, amount) -> monthlyRollupService.applyDelta(userId, key.categoryId(),
+                    key.monthStart(), key.type(), amount, rollupCounts.get(key)));
+            // One netted ledger entry per account and day
+            balanceLedgerService.appendAll(ledgerDeltas.entrySet().stream()
+                    .map(e -> new BalanceLedgerEntry(e.getKey().accountId(), null,
+                            BalanceLedgerEntry.EntryType.IMPORT, e.getValue(), e.getKey().entryDate()))
+                    .collect(Collectors.toList()));
+            budgetAlertService.recomputeForUser(userId);
+            outboxService.record("User", userId,
+                    new TransactionsImportedEvent(userId, imported, balanceDeltas.size()));
+            
+            long duration = System.currentTimeMillis() - startedAt;
+            log.info("Imported {} transactions across {} accounts for user {} in {} ms",
+                    imported, balanceDeltas.size(), userId, duration);
+            return new TransactionImportResponse(imported, balanceDeltas.size(), duration);
+        }
+    }
+}
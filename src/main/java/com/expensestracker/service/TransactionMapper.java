@@ -0,0 +1,26 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.response.TransactionResponse;
+import com.expensestracker.model.Transaction;
+
+// Transaction entity to API response, shared by the CRUD endpoints and the streaming export
+final class TransactionMapper {
+    
+    private TransactionMapper() {
+    }
+    
+    static TransactionResponse toResponse(Transaction transaction) {
+        return TransactionResponse.builder()
+                .transactionId(transaction.getTransactionId())
+                .accountId(transaction.getAccount().getAccountId())
+                .categoryId(transaction.getCategory().getCategoryId())
+                .accountName(transaction.getAccount().getAccountName())
+                .categoryName(transaction.getCategory().getName())
+                .categoryType(transaction.getCategory().getType().name())
+                .amount(transaction.getAmount())
+                .transactionType(transaction.getTransactionType().name())
+                .description(transaction.getDescription())
+                .transactionDate(transaction.getTransactionDate())
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package com.expensestracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the monthly RANGE COLUMNS partitions of the MySQL transaction table
+ * (db/vendor/mysql/V4, which also creates the partitions for existing data). Partitions
+ * p_yyyyMM are split off the MAXVALUE partition ahead of today, and with a retention
+ * configured, older months are exchanged into standalone transaction_archive_yyyyMM tables and
+ * dropped: a metadata-only detach instead of a DELETE. Instances coordinate through a MySQL
+ * named lock, so only one of them changes partitions at a time.
+ * <p>
+ * Partitioned InnoDB tables cannot have foreign keys, so each run also deletes transactions
+ * whose account, category or user no longer exists. JDBC batch writers (imports, the synthetic
+ * data generator) bypass the JPA cascades and can race a delete of their account.
+ */
+@Service
+@ConditionalOnProperty(name = "transactions.partitioning.enabled", havingValue = "true")
+public class TransactionPartitionService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionService.class);
+    
+    static final String FUTURE_PARTITION = "p_future";
+    static final String LOCK_NAME = "transaction_partition_maintenance";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    static final int ORPHAN_BATCH_SIZE = 1000;
+    // Single-table DELETE so that LIMIT applies; each batch holds its row locks only briefly
+    static final String DELETE_ORPHANS_SQL =
+            "DELETE FROM transaction " +
+            "WHERE NOT EXISTS (SELECT 1 FROM account a WHERE a.account_id = transaction.account_id) " +
+            "OR NOT EXISTS (SELECT 1 FROM category c WHERE c.category_id = transaction.category_id) " +
+            "OR NOT EXISTS (SELECT 1 FROM users u WHERE u.user_id = transaction.user_id) " +
+            "LIMIT " + ORPHAN_BATCH_SIZE;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    
+    public TransactionPartitionService(JdbcTemplate jdbcTemplate,
+                                       @Value("${transactions.partitioning.months-ahead:3}") int monthsAhead,
+                                       @Value("${transactions.partitioning.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+    
+    // Partition DDL commits implicitly in MySQL, so this runs outside any transaction. A failure
+    // is logged rather than thrown, so it cannot stop startup; the next scheduled run retries
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${transactions.partitioning.cron:0 0 4 * * *}")
+    public void maintain() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                maintain(new JdbcTemplate(new SingleConnectionDataSource(connection, true)), LocalDate.now());
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Transaction partition maintenance failed", e);
+        }
+    }
+    
+    // GET_LOCK belongs to the session, so every statement runs on the one connection behind jdbc.
+    // Another instance holding the lock is doing this same work, so this one just skips
+    void maintain(JdbcOperations jdbc, LocalDate today) {
+        Integer locked = jdbc.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+        if (locked == null || locked != 1) {
+            log.info("Transaction partitions are being maintained by another instance, skipping");
+            return;
+        }
+        try {
+            // Read only now: whoever held the lock before may already have added these months
+            List<LocalDate> boundaries = readBoundaries(jdbc);
+            if (boundaries == null) {
+                log.warn("transaction table is not partitioned, skipping partition maintenance");
+                return;
+            }
+            deleteOrphans(jdbc);
+            if (boundaries.isEmpty()) {
+                // Splitting history out of p_future would rebuild the whole table; V4 does that once
+                log.warn("transaction has no monthly partitions, skipping partition maintenance");
+                return;
+            }
+            
+            List<LocalDate> missing = missingBoundaries(boundaries, today, monthsAhead);
+            if (!missing.isEmpty()) {
+                jdbc.execute(reorganizeSql(missing));
+                log.info("Created {} transaction partitions up to {}", missing.size(), missing.get(missing.size() - 1));
+            }
+            
+            if (retentionMonths > 0) {
+                for (LocalDate boundary : expiredBoundaries(boundaries, today, retentionMonths)) {
+                    archive(jdbc, partitionName(boundary));
+                }
+            }
+        } finally {
+            jdbc.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+        }
+    }
+    
+    // Upper bounds of the monthly partitions in order, or null when the table is not partitioned
+    private static List<LocalDate> readBoundaries(JdbcOperations jdbc) {
+        List<String> descriptions = jdbc.queryForList(
+                "SELECT PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transaction' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+        if (descriptions.isEmpty()) {
+            return null;
+        }
+        return descriptions.stream()
+                .filter(description -> !"MAXVALUE".equalsIgnoreCase(description))
+                .map(description -> LocalDate.parse(description.replace("'", "")))
+                .collect(Collectors.toList());
+    }
+    
+    private static void deleteOrphans(JdbcOperations jdbc) {
+        int deleted = 0;
+        int batch;
+        do {
+            batch = jdbc.update(DELETE_ORPHANS_SQL);
+            deleted += batch;
+        } while (batch == ORPHAN_BATCH_SIZE);
+        if (deleted > 0) {
+            log.warn("Deleted {} transactions whose account, category or user no longer exists", deleted);
+        }
+    }
+    
+    private static void archive(JdbcOperations jdbc, String partition) {
+        String archiveTable = "transaction_archive_" + partition.substring("p_".length());
+        jdbc.execute("CREATE TABLE " + archiveTable + " LIKE transaction");
+        jdbc.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        jdbc.execute("ALTER TABLE transaction EXCHANGE PARTITION " + partition + " WITH TABLE " + archiveTable);
+        jdbc.execute("ALTER TABLE transaction DROP PARTITION " + partition);
+        log.info("Archived transaction partition {} to {}", partition, archiveTable);
+    }
+    
+    // Upper bounds (first day of the following month) still missing so that partitions cover
+    // every month up to today plus monthsAhead
+    static List<LocalDate> missingBoundaries(List<LocalDate> existing, LocalDate today, int monthsAhead) {
+        LocalDate next = existing.get(existing.size() - 1).plusMonths(1);
+        LocalDate last = today.withDayOfMonth(1).plusMonths(monthsAhead + 1L);
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate boundary = next; !boundary.isAfter(last); boundary = boundary.plusMonths(1)) {
+            missing.add(boundary);
+        }
+        return missing;
+    }
+    
+    // Months that ended before the retention window; the current month counts as the first
+    static List<LocalDate> expiredBoundaries(List<LocalDate> existing, LocalDate today, int retentionMonths) {
+        LocalDate oldestKept = today.withDayOfMonth(1).minusMonths(retentionMonths - 1L);
+        return existing.stream()
+                .filter(boundary -> !boundary.isAfter(oldestKept))
+                .collect(Collectors.toList());
+    }
+    
+    static String reorganizeSql(List<LocalDate> boundaries) {
+        StringBuilder sql = new StringBuilder("ALTER TABLE transaction REORGANIZE PARTITION ")
+                .append(FUTURE_PARTITION).append(" INTO (");
+        for (LocalDate boundary : boundaries) {
+            sql.append("PARTITION ").append(partitionName(boundary))
+                    .append(" VALUES LESS THAN ('").append(boundary).append("'), ");
+        }
+        return sql.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN (MAXVALUE))").toString();
+    }
+    
+    // Named after the month the partition holds, i.e. the month before its upper bound
+    static String partitionName(LocalDate boundary) {
+        return "p_" + boundary.minusMonths(1).format(MONTH);
+    }
+}
@@ -1,35 +1,57 @@
 package com.expensestracker.service;
 
 import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.TransactionPageResponse;
 import com.expensestracker.dto.response.TransactionResponse;
+import com.expensestracker.event.TransactionDeletedEvent;
+import com.expensestracker.event.TransactionRecordedEvent;
 import com.expensestracker.model.*;
 import com.expensestracker.repository.*;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("expenses.service")
 public class TransactionService {
     
     private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
     
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
     private final UserService userService;
+    private final MonthlyRollupService monthlyRollupService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BudgetAlertService budgetAlertService;
+    private final OutboxService outboxService;
     
     public TransactionService(TransactionRepository transactionRepository, 
                             AccountRepository accountRepository,
-                            CategoryRepository categoryRepository, 
-                            UserService userService) {
+                            CategoryCache categoryCache, 
+                            UserService userService,
+                            MonthlyRollupService monthlyRollupService,
+                            BalanceLedgerService balanceLedgerService,
+                            BudgetAlertService budgetAlertService,
+                            OutboxService outboxService) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
-        this.categoryRepository = categoryRepository;
+        this.categoryCache = categoryCache;
         this.userService = userService;
+        this.monthlyRollupService = monthlyRollupService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.budgetAlertService = budgetAlertService;
+        this.outboxService = outboxService;
     }
     
     @Transactional
@@ -41,14 +63,15 @@ public class TransactionService {
                 request.getAccountId(), userId)
                 .orElseThrow(() -> new RuntimeException("Account not found or access denied"));
         
-        // 2. Validate Category
-        Category category = categoryRepository.findById(request.getCategoryId())
+        // 2. Validate Category (own or system, resolved from the in-memory cache)
+        Category category = categoryCache.findVisible(userId, request.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         
         // 3. Create Transaction with proper transaction type
         Transaction.TransactionType txType = Transaction.TransactionType.valueOf(request.getTransactionType());
         Transaction transaction = Transaction.builder()
                 .account(account)
+                .userId(userId)
                 .category(category)
                 .amount(request.getAmount())
                 .description(request.getDescription())
@@ -56,79 +79,119 @@ public class TransactionService {
                 .transactionType(txType)
                 .build();
         
-        // 4. Update Account Balance based on CATEGORY Type
-        if (category.getType() == Category.CategoryType.INCOME) {
-            account.setBalance(account.getBalance().add(request.getAmount()));
-            log.info("Account balance increased by: {}", request.getAmount());
-        } else {
-            account.setBalance(account.getBalance().subtract(request.getAmount()));
-            log.info("Account balance decreased by: {}", request.getAmount());
-        }
+        // 4. Update Account Balance based on CATEGORY Type, atomically in the database
+        //    (balance = balance + delta) so concurrent writers cannot lose updates
+        BigDecimal delta = category.getType() == Category.CategoryType.INCOME
+                ? request.getAmount()
+                : request.getAmount().negate();
+        accountRepository.adjustBalance(account.getAccountId(), delta);
+        log.info("Account balance adjusted by: {}", delta);
         
-        accountRepository.save(account);
         Transaction savedTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.recordTransaction(userId, savedTransaction);
+        balanceLedgerService.append(account.getAccountId(), savedTransaction.getTransactionId(),
+                BalanceLedgerEntry.EntryType.TRANSACTION, delta, savedTransaction.getTransactionDate());
+        // Budgets track spending only; income never counts against a limit
+        if (txType == Transaction.TransactionType.EXPENSE) {
+            budgetAlertService.recordSpend(userId, category.getCategoryId(),
+                    savedTransaction.getTransactionDate(), savedTransaction.getAmount());
+        }
+        outboxService.record("Account", account.getAccountId(), new TransactionRecordedEvent(
+                savedTransaction.getTransactionId(), userId, account.getAccountId(), category.getCategoryId(),
+                savedTransaction.getAmount(), savedTransaction.getTransactionDate(), txType.name()));
         
         log.info("Transaction created with ID: {}", savedTransaction.getTransactionId());
         
-        return mapToResponse(savedTransaction);
+        return TransactionMapper.toResponse(savedTransaction);
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getUserTransactions(Long userId) {
-        return transactionRepository.findByAccount_User_UserIdOrderByTransactionDateDesc(userId)
+        return transactionRepository.findByUserIdOrderByTransactionDateDescTransactionIdDesc(userId)
                 .stream()
-                .map(this::mapToResponse)
+                .map(TransactionMapper::toResponse)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getUserTransactionsPage(Long userId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        
+        List<Transaction> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = transactionRepository.findFirstPageByUserId(userId, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserIdAfterCursor(
+                    userId, position.getTransactionDate(), position.getTransactionId(), limit);
+        }
+        
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = rows.get(rows.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getTransactionId()).encode();
+        }
+        
+        return TransactionPageResponse.builder()
+                .transactions(rows.stream().map(TransactionMapper::toResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size(pageSize)
+                .build();
+    }
+    
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long userId, Long transactionId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findWithAccountAndCategoryByTransactionId(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
         
-        // Check ownership via Account -> User
-        if (!transaction.getAccount().getUser().getUserId().equals(userId)) {
+        // Check ownership via the denormalised owner column
+        if (!transaction.getUserId().equals(userId)) {
             throw new RuntimeException("Access denied");
         }
         
-        return mapToResponse(transaction);
+        return TransactionMapper.toResponse(transaction);
     }
     
     @Transactional
     public void deleteTransaction(Long userId, Long transactionId) {
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Transaction transaction = transactionRepository.findWithAccountAndCategoryByTransactionId(transactionId)
                 .orElseThrow(() -> new RuntimeException("Transaction not found"));
         
-        if (!transaction.getAccount().getUser().getUserId().equals(userId)) {
+        if (!transaction.getUserId().equals(userId)) {
             throw new RuntimeException("Access denied");
         }
         
-        Account account = transaction.getAccount();
-        // Revert balance using Category Type
-        if (transaction.getCategory().getType() == Category.CategoryType.INCOME) {
-            account.setBalance(account.getBalance().subtract(transaction.getAmount()));
-        } else {
-            account.setBalance(account.getBalance().add(transaction.getAmount()));
+        // Delete first: the row lock serialises concurrent deletes of the same transaction,
+        // and only the one that actually removed the row reverts the balance
+        if (transactionRepository.deleteByTransactionIdAndTransactionDate(
+                transactionId, transaction.getTransactionDate()) == 0) {
+            throw new RuntimeException("Transaction not found");
         }
         
-        accountRepository.save(account);
-        transactionRepository.delete(transaction);
+        // Revert balance using Category Type
+        BigDecimal delta = transaction.getCategory().getType() == Category.CategoryType.INCOME
+                ? transaction.getAmount().negate()
+                : transaction.getAmount();
+        accountRepository.adjustBalance(transaction.getAccount().getAccountId(), delta);
+        monthlyRollupService.reverseTransaction(userId, transaction);
+        balanceLedgerService.append(transaction.getAccount().getAccountId(), transactionId,
+                BalanceLedgerEntry.EntryType.REVERSAL, delta, transaction.getTransactionDate());
+        if (transaction.getTransactionType() == Transaction.TransactionType.EXPENSE) {
+            budgetAlertService.recordSpend(userId, transaction.getCategory().getCategoryId(),
+                    transaction.getTransactionDate(), transaction.getAmount().negate());
+        }
+        outboxService.record("Account", transaction.getAccount().getAccountId(), new TransactionDeletedEvent(
+                transactionId, userId, transaction.getAccount().getAccountId(),
+                transaction.getCategory().getCategoryId(), transaction.getAmount(), transaction.getTransactionDate()));
         
         log.info("Transaction deleted: {}", transactionId);
     }
-    
-    private TransactionResponse mapToResponse(Transaction transaction) {
-        return TransactionResponse.builder()
-                .transactionId(transaction.getTransactionId())
-                .accountId(transaction.getAccount().getAccountId())
-                .categoryId(transaction.getCategory().getCategoryId())
-                .accountName(transaction.getAccount().getAccountName())
-                .categoryName(transaction.getCategory().getName())
-                .categoryType(transaction.getCategory().getType().name()) 
-                .amount(transaction.getAmount())
-                .transactionType(transaction.getTransactionType().name())
-                .description(transaction.getDescription())
-                .transactionDate(transaction.getTransactionDate())
-                .build();
-    }
 }
\ No newline at end of file
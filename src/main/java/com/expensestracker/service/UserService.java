@@ -6,69 +6,118 @@ import com.expensestracker.dto.request.UserRegistrationRequest;
 import com.expensestracker.dto.response.UserResponse;
 import com.expensestracker.model.User;
 import com.expensestracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 @Service
+@Timed("expenses.service")
 public class UserService {
     
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginRateLimiter loginRateLimiter;
     private final JwtUtil jwtUtil;
+    // Ids recently confirmed to exist; values are unused
+    private final Cache<Long, Boolean> knownUserIds;
     
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       LoginRateLimiter loginRateLimiter, JwtUtil jwtUtil,
+                       MeterRegistry meterRegistry,
+                       @Value("${user.id-cache.max-size:100000}") long idCacheMaxSize,
+                       @Value("${user.id-cache.ttl-minutes:10}") long idCacheTtlMinutes) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.loginRateLimiter = loginRateLimiter;
         this.jwtUtil = jwtUtil;
+        this.knownUserIds = Caffeine.newBuilder()
+                .maximumSize(idCacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(idCacheTtlMinutes))
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.size, ... tagged cache=user-ids
+        CaffeineCacheMetrics.monitor(meterRegistry, knownUserIds, "user-ids");
     }
     
-    @Transactional
-    public UserResponse registerUser(UserRegistrationRequest request) {
+    // Hashing runs on the PasswordHasher pool; the request thread is released meanwhile
+    public CompletableFuture<UserResponse> registerUser(UserRegistrationRequest request) {
         log.info("Attempting to register user with email: {}", request.getEmail());
         
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already registered: " + request.getEmail());
         }
         
-        User user = User.builder()
-                .name(request.getName())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .build();
-        
-        User savedUser = userRepository.save(user);
-        log.info("User registered successfully with ID: {}", savedUser.getUserId());
-        
-        String token = jwtUtil.generateToken(savedUser.getEmail(), savedUser.getUserId());
-        
-        return UserResponse.builder()
-                .userId(savedUser.getUserId())
-                .name(savedUser.getName())
-                .email(savedUser.getEmail())
-                .token(token)
-                .createdAt(savedUser.getCreatedAt())
-                .build();
+        return passwordHasher.encode(request.getPassword()).thenApply(passwordHash -> {
+            User user = User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail())
+                    .password(passwordHash)
+                    .build();
+            
+            User savedUser = userRepository.save(user);
+            knownUserIds.put(savedUser.getUserId(), Boolean.TRUE);
+            log.info("User registered successfully with ID: {}", savedUser.getUserId());
+            
+            return toResponse(savedUser);
+        });
     }
     
-    @Transactional(readOnly = true)
-    public UserResponse loginUser(LoginRequest request) {
+    public CompletableFuture<UserResponse> loginUser(LoginRequest request, String clientAddress) {
         log.info("Login attempt for email: {}", request.getEmail());
+        loginRateLimiter.acquire(request.getEmail(), clientAddress);
         
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+        String passwordHash = user.getPassword();
         
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            log.warn("Invalid password attempt for email: {}", request.getEmail());
-            throw new RuntimeException("Invalid email or password");
+        return passwordHasher.matches(request.getPassword(), passwordHash).thenApply(matches -> {
+            if (!matches) {
+                log.warn("Invalid password attempt for email: {}", request.getEmail());
+                throw new RuntimeException("Invalid email or password");
+            }
+            
+            loginRateLimiter.reset(request.getEmail());
+            knownUserIds.put(user.getUserId(), Boolean.TRUE);
+            if (passwordHasher.needsRehash(passwordHash)) {
+                rehash(user.getUserId(), request.getPassword(), passwordHash);
+            }
+            log.info("User logged in successfully: {}", user.getUserId());
+            
+            return toResponse(user);
+        });
+    }
+    
+    // Upgrade a hash made with an older cost, off the login path; a busy pool just defers it
+    private void rehash(Long userId, String rawPassword, String oldHash) {
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAccept(newHash -> {
+                        if (userRepository.replacePasswordHash(userId, oldHash, newHash) == 1) {
+                            log.info("Password hash upgraded for user {}", userId);
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Password rehash failed for user {}: {}", userId, e.getMessage());
+                        return null;
+                    });
+        } catch (PasswordHasher.BusyException e) {
+            log.debug("Password hashing busy, rehash for user {} deferred to a later login", userId);
         }
-        
-        log.info("User logged in successfully: {}", user.getUserId());
-        
+    }
+    
+    private UserResponse toResponse(User user) {
         String token = jwtUtil.generateToken(user.getEmail(), user.getUserId());
         
         return UserResponse.builder()
@@ -86,6 +135,24 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
     }
     
+    /**
+     * Uninitialised proxy for setting a user foreign key, with no SELECT on users. Only the
+     * id's existence is checked, by primary key, and only when it is not already in the
+     * known-id cache; registration and login seed that cache. Ownership checks are unchanged
+     * from loading the entity: both trust the caller-supplied userId request header. Calling
+     * anything but getUserId() on the proxy loads the row.
+     */
+    @Transactional(readOnly = true)
+    public User getUserReference(Long userId) {
+        if (knownUserIds.getIfPresent(userId) == null) {
+            if (!userRepository.existsById(userId)) {
+                throw new RuntimeException("User not found with ID: " + userId);
+            }
+            knownUserIds.put(userId, Boolean.TRUE);
+        }
+        return userRepository.getReferenceById(userId);
+    }
+    
     @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
         return userRepository.findByEmail(email)
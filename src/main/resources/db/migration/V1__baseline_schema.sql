@@ -0,0 +1,62 @@
+-- Baseline: the five tables and indexes of the original init.sql. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and run every migration after
+-- it, so anything added since (even if a database already got it from ddl-auto=update) lives
+-- in a later, idempotent migration (V6, and V7 under db/vendor).
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS account (
+    account_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    account_name VARCHAR(100) NOT NULL,
+    account_type VARCHAR(50) NOT NULL,
+    balance DECIMAL(15,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_account_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS category (
+    category_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT,
+    name VARCHAR(100) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    classification VARCHAR(20),
+    icon VARCHAR(50),
+    CONSTRAINT fk_category_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS transaction (
+    transaction_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    transaction_date DATE NOT NULL,
+    description VARCHAR(255),
+    CONSTRAINT fk_transaction_account FOREIGN KEY (account_id) REFERENCES account(account_id) ON DELETE CASCADE,
+    CONSTRAINT fk_transaction_category FOREIGN KEY (category_id) REFERENCES category(category_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS budget (
+    budget_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    amount_limit DECIMAL(15,2) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    CONSTRAINT fk_budget_user FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_budget_category FOREIGN KEY (category_id) REFERENCES category(category_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_account_user ON account(user_id);
+CREATE INDEX idx_category_user ON category(user_id);
+CREATE INDEX idx_transaction_account ON transaction(account_id);
+CREATE INDEX idx_transaction_category ON transaction(category_id);
+CREATE INDEX idx_transaction_date ON transaction(transaction_date);
+CREATE INDEX idx_budget_user ON budget(user_id);
+CREATE INDEX idx_budget_category ON budget(category_id);
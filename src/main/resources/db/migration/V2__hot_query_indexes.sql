@@ -0,0 +1,18 @@
+-- Composite indexes shaped after the hot repository queries, so MySQL can seek and read
+-- rows in index order instead of scanning and filesorting.
+
+-- User-scoped transaction lists/pages: per account, newest first (date DESC, id DESC)
+CREATE INDEX idx_transaction_account_date ON transaction(account_id, transaction_date, transaction_id);
+
+-- Budget utilisation and spend counters: sum amounts by category inside a date window;
+-- account_id and amount make the index covering for those aggregates
+CREATE INDEX idx_transaction_category_date ON transaction(category_id, transaction_date, account_id, amount);
+
+-- Budgets covering a (user, category, date) - the per-transaction counter update
+CREATE INDEX idx_budget_user_category_window ON budget(user_id, category_id, start_date, end_date);
+
+-- Expiry checks: a user's budgets ending before a date
+CREATE INDEX idx_budget_user_end ON budget(user_id, end_date);
+
+-- Category lookup by name within a user
+CREATE INDEX idx_category_user_name ON category(user_id, name);
@@ -0,0 +1,17 @@
+-- Denormalised owner on transaction: user-scoped reads filter and range-scan the largest
+-- table on (user_id, transaction_date, transaction_id) without joining account.
+-- An account never changes owner, so the copy cannot go stale.
+
+ALTER TABLE transaction ADD COLUMN user_id BIGINT NULL;
+
+UPDATE transaction
+SET user_id = (SELECT a.user_id FROM account a WHERE a.account_id = transaction.account_id)
+WHERE user_id IS NULL;
+
+ALTER TABLE transaction MODIFY user_id BIGINT NOT NULL;
+
+ALTER TABLE transaction ADD CONSTRAINT fk_transaction_user
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE;
+
+-- Lists, keyset pages, exports and reports: one user's rows, newest first
+CREATE INDEX idx_transaction_user_date ON transaction(user_id, transaction_date, transaction_id);
@@ -0,0 +1,16 @@
+-- Pooled primary keys for users, account, category, transaction and budget. IDENTITY forces
+-- Hibernate to INSERT each entity immediately to learn its id, which rules out JDBC batching;
+-- IdBlockAllocator reserves a block of ids per round trip from this table instead.
+-- last_id is the highest id reserved so far.
+-- The AUTO_INCREMENT columns stay as they are: rows now always arrive with an explicit id.
+
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    last_id BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generator (sequence_name, last_id) SELECT 'users', COALESCE(MAX(user_id), 0) FROM users;
+INSERT INTO id_generator (sequence_name, last_id) SELECT 'account', COALESCE(MAX(account_id), 0) FROM account;
+INSERT INTO id_generator (sequence_name, last_id) SELECT 'category', COALESCE(MAX(category_id), 0) FROM category;
+INSERT INTO id_generator (sequence_name, last_id) SELECT 'transaction', COALESCE(MAX(transaction_id), 0) FROM transaction;
+INSERT INTO id_generator (sequence_name, last_id) SELECT 'budget', COALESCE(MAX(budget_id), 0) FROM budget;
@@ -0,0 +1,49 @@
+-- Tables added after the baseline, before migrations existed: reporting rollups, the balance
+-- ledger with its snapshots, and the transactional outbox. Databases that ran those versions
+-- already have them (from init.sql or ddl-auto=update) and skip the CREATE; columns and
+-- indexes that such a table may still lack are added by V7 (db/vendor/{vendor}).
+
+-- Derived from transaction, rebuilt by MonthlyRollupService
+CREATE TABLE IF NOT EXISTS monthly_rollup (
+    rollup_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_rollup_user_month_category_type UNIQUE (user_id, month_start, category_id, transaction_type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Append-only balance ledger and per-account snapshots (see BalanceLedgerService)
+CREATE TABLE IF NOT EXISTS balance_ledger (
+    entry_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    transaction_id BIGINT,
+    entry_type VARCHAR(20) NOT NULL,
+    amount_delta DECIMAL(15,2) NOT NULL,
+    entry_date DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS balance_snapshot (
+    snapshot_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    as_of_date DATE NOT NULL,
+    balance DECIMAL(15,2) NOT NULL,
+    CONSTRAINT uk_snapshot_account_date UNIQUE (account_id, as_of_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Domain events written in the same transaction as the change (see OutboxService)
+CREATE TABLE IF NOT EXISTS outbox_event (
+    event_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    failed_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
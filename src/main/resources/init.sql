@@ -1,3 +1,9 @@
+-- Local development bootstrap: creates the database and sample data.
+-- The schema is versioned by Flyway (src/main/resources/db/migration). The tables below are
+-- exactly the V1 baseline: on startup Flyway baselines this database at V1 and applies every
+-- later migration (post-baseline tables and columns, indexes, transaction.user_id backfill,
+-- MySQL partitioning), so do not add post-V1 changes here.
+
 -- Create Database
 CREATE DATABASE IF NOT EXISTS expense_tracker_api;
 USE expense_tracker_api;
@@ -0,0 +1,161 @@
+package com.expensestracker.benchmark;
+
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.*;
+import com.expensestracker.repository.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insert throughput through JPA: DataInitializer-style seeding (a user with accounts,
+ * categories, transactions and a budget per unit of work) and one large transaction write.
+ * Skipped unless run explicitly:
+ *
+ *   mvn test -Dtest=InsertThroughputBenchmark -Dbenchmark=true [-Dbenchmark.label=after]
+ *
+ * Results are logged and appended to target/insert-benchmark.txt. Point the test profile's
+ * datasource at MySQL for numbers that include real network round trips.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmark {
+    
+    private static final Logger log = LoggerFactory.getLogger(InsertThroughputBenchmark.class);
+    
+    private static final int SEED_USERS = 300;
+    private static final int BULK_TRANSACTIONS = 30_000;
+    private static final int FLUSH_EVERY = 1_000;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Test
+    void seeding() throws IOException {
+        seedUsers("warmup", 30);
+        long started = System.nanoTime();
+        int rows = seedUsers("seed", SEED_USERS);
+        report("seeding", rows, System.nanoTime() - started);
+    }
+    
+    @Test
+    void bulkTransactions() throws IOException {
+        writeTransactions(2_000);
+        long started = System.nanoTime();
+        int rows = writeTransactions(BULK_TRANSACTIONS);
+        report("bulk-transactions", rows, System.nanoTime() - started);
+    }
+    
+    // Same shape as DataInitializer: one unit of work per user, saved entity by entity
+    private int seedUsers(String prefix, int users) {
+        int rows = 0;
+        for (int u = 0; u < users; u++) {
+            String email = prefix + "-" + u + "-" + System.nanoTime() + "@example.com";
+            rows += transactionTemplate.execute(status -> {
+                User user = userRepository.save(User.builder()
+                        .name("Bench").email(email).password("not-a-real-hash").build());
+                Account checking = accountRepository.save(Account.builder().user(user).accountName("Checking")
+                        .accountType(Account.AccountType.BANK_ACCOUNT).balance(new BigDecimal("1000.00")).build());
+                Account cash = accountRepository.save(Account.builder().user(user).accountName("Cash")
+                        .accountType(Account.AccountType.CASH).balance(new BigDecimal("50.00")).build());
+                Category groceries = categoryRepository.save(Category.builder().user(user).name("Groceries")
+                        .type(Category.CategoryType.EXPENSE).build());
+                Category salary = categoryRepository.save(Category.builder().user(user).name("Salary")
+                        .type(Category.CategoryType.INCOME).build());
+                for (int i = 0; i < 20; i++) {
+                    boolean income = i % 5 == 0;
+                    transactionRepository.save(Transaction.builder()
+                            .account(i % 2 == 0 ? checking : cash)
+                            .category(income ? salary : groceries)
+                            .amount(new BigDecimal(income ? "2500.00" : "75.25"))
+                            .transactionType(income ? Transaction.TransactionType.INCOME
+                                    : Transaction.TransactionType.EXPENSE)
+                            .transactionDate(LocalDate.now().minusDays(i))
+                            .build());
+                }
+                budgetRepository.save(Budget.builder().user(user).category(groceries)
+                        .amountLimit(new BigDecimal("500.00"))
+                        .startDate(LocalDate.now().withDayOfMonth(1)).endDate(LocalDate.now()).build());
+                return 1 + 2 + 2 + 20 + 1;
+            });
+        }
+        return rows;
+    }
+    
+    // One account, many rows in a single transaction, flushed and cleared in chunks
+    private int writeTransactions(int count) {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.save(User.builder()
+                    .name("Bulk").email("bulk-" + System.nanoTime() + "@example.com")
+                    .password("not-a-real-hash").build());
+            Account account = accountRepository.save(Account.builder().user(user).accountName("Bulk")
+                    .accountType(Account.AccountType.BANK_ACCOUNT).balance(BigDecimal.ZERO).build());
+            Category category = categoryRepository.save(Category.builder().user(user).name("Bulk")
+                    .type(Category.CategoryType.EXPENSE).build());
+            
+            List<Transaction> chunk = new ArrayList<>(FLUSH_EVERY);
+            for (int i = 0; i < count; i++) {
+                chunk.add(Transaction.builder()
+                        .account(account).userId(user.getUserId()).category(category)
+                        .amount(new BigDecimal("1.00")).transactionType(Transaction.TransactionType.EXPENSE)
+                        .transactionDate(LocalDate.now().minusDays(i % 365))
+                        .build());
+                if (chunk.size() == FLUSH_EVERY) {
+                    transactionRepository.saveAll(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                    account = entityManager.getReference(Account.class, account.getAccountId());
+                    category = entityManager.getReference(Category.class, category.getCategoryId());
+                    chunk.clear();
+                }
+            }
+            transactionRepository.saveAll(chunk);
+            return count;
+        });
+    }
+    
+    private static void report(String scenario, int rows, long nanos) throws IOException {
+        double millis = nanos / 1_000_000.0;
+        String line = String.format("%s %-10s %-18s %7d rows %9.1f ms %10.0f rows/s",
+                LocalDateTime.now().withNano(0), System.getProperty("benchmark.label", "-"),
+                scenario, rows, millis, rows / (millis / 1000.0));
+        log.info("[insert-benchmark] {}", line);
+        Files.writeString(Path.of("target", "insert-benchmark.txt"), line + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
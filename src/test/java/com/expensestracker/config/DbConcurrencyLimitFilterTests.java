@@ -0,0 +1,111 @@
+package com.expensestracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DbConcurrencyLimitFilterTests {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void excessRequestsGet503WithRetryAfter() throws Exception {
+        DbConcurrencyLimitFilter filter = new DbConcurrencyLimitFilter(1, 50, objectMapper);
+        CountDownLatch inHandler = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<MockHttpServletResponse> holder = CompletableFuture.supplyAsync(() ->
+                run(filter, request(), (req, res) -> {
+                    inHandler.countDown();
+                    await(release);
+                }));
+        assertThat(inHandler.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        AtomicInteger handled = new AtomicInteger();
+        MockHttpServletResponse rejected = run(filter, request(), (req, res) -> handled.incrementAndGet());
+        
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("\"success\":false", "Server busy, please retry");
+        assertThat(handled).hasValue(0);
+        
+        release.countDown();
+        assertThat(holder.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(run(filter, request(), (req, res) -> handled.incrementAndGet()).getStatus()).isEqualTo(200);
+        assertThat(handled).hasValue(1);
+    }
+    
+    @Test
+    void asyncRequestsHoldTheirPermitUntilTheResponseCompletes() throws Exception {
+        DbConcurrencyLimitFilter filter = new DbConcurrencyLimitFilter(1, 50, objectMapper);
+        MockHttpServletRequest streaming = request();
+        
+        // Like a StreamingResponseBody or CompletableFuture handler: returns before its work is done
+        run(filter, streaming, (req, res) -> streaming.startAsync());
+        assertThat(streaming.isAsyncStarted()).isTrue();
+        assertThat(run(filter, request(), (req, res) -> { }).getStatus()).isEqualTo(503);
+        
+        streaming.getAsyncContext().complete();
+        assertThat(run(filter, request(), (req, res) -> { }).getStatus()).isEqualTo(200);
+        // Released once only: the single permit is free again, not doubled
+        MockHttpServletRequest second = request();
+        run(filter, second, (req, res) -> second.startAsync());
+        assertThat(run(filter, request(), (req, res) -> { }).getStatus()).isEqualTo(503);
+    }
+    
+    @Test
+    void requestsThatNeverOpenAConnectionAreNotLimited() throws Exception {
+        DbConcurrencyLimitFilter filter = new DbConcurrencyLimitFilter(1, 50, objectMapper);
+        MockHttpServletRequest streaming = request();
+        run(filter, streaming, (req, res) -> streaming.startAsync());
+        
+        for (String[] free : new String[][] {
+                {"GET", "/actuator/health"},
+                {"GET", "/api/auth/test"},
+                {"POST", "/api/auth/login"},
+                {"GET", "/api/categories"},
+                {"GET", "/api/admin/caches"},
+                {"POST", "/api/admin/debug-logging/users/7"}}) {
+            MockHttpServletRequest request = new MockHttpServletRequest(free[0], free[1]);
+            assertThat(run(filter, request, (req, res) -> { }).getStatus()).as(free[1]).isEqualTo(200);
+        }
+        // Category writes and everything else still need a permit
+        assertThat(run(filter, new MockHttpServletRequest("POST", "/api/categories"), (req, res) -> { })
+                .getStatus()).isEqualTo(503);
+        assertThat(run(filter, new MockHttpServletRequest("GET", "/api/transactions/export"), (req, res) -> { })
+                .getStatus()).isEqualTo(503);
+    }
+    
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.setAsyncSupported(true);
+        return request;
+    }
+    
+    private static MockHttpServletResponse run(DbConcurrencyLimitFilter filter, MockHttpServletRequest request,
+                                               FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensestracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DebugLoggingFilterTests {
+    
+    @Test
+    void headerWithTokenMarksOnlyThatRequest() throws Exception {
+        DebugLoggingFilter filter = new DebugLoggingFilter("s3cret");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader(DebugLoggingFilter.HEADER, "s3cret");
+        AtomicReference<String> duringRequest = new AtomicReference<>();
+        
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> duringRequest.set(MDC.get(DebugLoggingFilter.MDC_KEY)));
+        
+        assertThat(duringRequest.get()).isEqualTo("true");
+        assertThat(MDC.get(DebugLoggingFilter.MDC_KEY)).isNull();
+    }
+    
+    @Test
+    void headerIsIgnoredWithWrongOrMissingToken() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader(DebugLoggingFilter.HEADER, "guess");
+        
+        assertThat(new DebugLoggingFilter("s3cret").shouldDebug(request)).isFalse();
+        assertThat(new DebugLoggingFilter("").shouldDebug(request)).isFalse();
+    }
+    
+    @Test
+    void usersCanBeSwitchedOnAndOff() {
+        DebugLoggingFilter filter = new DebugLoggingFilter("");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        request.addHeader("userId", "7");
+        
+        filter.enableForUser(7L);
+        assertThat(filter.shouldDebug(request)).isTrue();
+        
+        filter.disableForUser(7L);
+        assertThat(filter.shouldDebug(request)).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package com.expensestracker.config;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTests {
+    
+    private final JwtUtil jwtUtil = new JwtUtil(100);
+    
+    @Test
+    void verifiedTokenIsServedFromCache() {
+        String token = jwtUtil.generateToken("cache@example.com", 42L);
+        
+        JwtUtil.VerifiedToken first = jwtUtil.verifyToken(token);
+        JwtUtil.VerifiedToken second = jwtUtil.verifyToken(token);
+        
+        assertThat(second).isSameAs(first);
+        assertThat(first.email()).isEqualTo("cache@example.com");
+        assertThat(first.userId()).isEqualTo(42L);
+        assertThat(jwtUtil.extractUserId(token)).isEqualTo(42L);
+        assertThat(jwtUtil.validateToken(token, "cache@example.com")).isTrue();
+    }
+    
+    @Test
+    void callersGetTheirOwnClaimsNotTheCachedEntry() {
+        String token = jwtUtil.generateToken("cache@example.com", 42L);
+        jwtUtil.verifyToken(token);
+        
+        // A caller changing its Claims must not affect what later requests see for the same token
+        jwtUtil.extractClaim(token, claims -> claims.put("userId", 7L));
+        
+        Long userId = jwtUtil.extractClaim(token, claims -> claims.get("userId", Long.class));
+        assertThat(userId).isEqualTo(42L);
+        assertThat(jwtUtil.extractUserId(token)).isEqualTo(42L);
+    }
+    
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = jwtUtil.generateToken("cache@example.com", 42L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        
+        assertThatThrownBy(() -> jwtUtil.verifyToken(tampered)).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.expensestracker.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTests {
+    
+    private final LoggerContext context = new LoggerContext();
+    
+    @Test
+    void keepsOneInSampleRateEventsOfTheConfiguredLogger() {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggerName("org.hibernate.SQL_SLOW");
+        filter.setSampleRate(4);
+        
+        int kept = 0;
+        for (int i = 0; i < 20; i++) {
+            if (filter.decide(null, context.getLogger("org.hibernate.SQL_SLOW"), Level.INFO,
+                    "Slow query", null, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        
+        assertThat(kept).isEqualTo(5);
+        assertThat(filter.decide(null, context.getLogger("org.hibernate.SQL"), Level.INFO, "select", null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+        // isInfoEnabled() checks pass through without consuming a sample
+        assertThat(filter.decide(null, context.getLogger("org.hibernate.SQL_SLOW"), Level.INFO, null, null, null))
+                .isEqualTo(FilterReply.NEUTRAL);
+    }
+}
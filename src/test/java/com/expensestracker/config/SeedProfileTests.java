@@ -0,0 +1,35 @@
+package com.expensestracker.config;
+
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with the "seed" profile, on its own database so the synthetic users
+ * do not collide with other tests, and checks the generator ran on startup.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seed_profile;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "seed.users=2",
+        "seed.accounts-per-user=1",
+        "seed.transactions-per-account=20"})
+@ActiveProfiles({"test", "seed"})
+class SeedProfileTests {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void seedProfileLoadsTheConfiguredUsersOnStartup() {
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE 'loadtest-user-%'",
+                Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction t JOIN users u "
+                + "ON u.user_id = t.user_id WHERE u.email = ?", Long.class, SyntheticDataGenerator.email(2)))
+                .isEqualTo(20);
+    }
+}
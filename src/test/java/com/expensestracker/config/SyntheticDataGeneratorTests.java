@@ -0,0 +1,66 @@
+package com.expensestracker.config;
+
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class SyntheticDataGeneratorTests {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Test
+    void generatesConsistentDataSet() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate, idBlockAllocator, passwordEncoder,
+                new SyntheticDataGenerator.Settings(3, 2, 50, 90, 0.1, 0.6, "Welcome1!", 40, 7));
+        
+        assertThat(generator.generate()).isEqualTo(3 * 2 * 50);
+        
+        Long userId = jdbcTemplate.queryForObject("SELECT user_id FROM users WHERE email = ?",
+                Long.class, SyntheticDataGenerator.email(2));
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE user_id = ?", String.class, userId);
+        assertThat(passwordEncoder.matches("Welcome1!", hash)).isTrue();
+        assertThat(count("SELECT COUNT(*) FROM transaction WHERE user_id = ?", userId)).isEqualTo(100);
+        assertThat(count("SELECT COUNT(*) FROM budget WHERE user_id = ?", userId)).isEqualTo(8);
+        
+        // Derived rows agree with the raw transactions
+        assertThat(sum("SELECT SUM(balance) FROM account WHERE user_id = ?", userId))
+                .isEqualByComparingTo(sum("SELECT SUM(l.amount_delta) FROM balance_ledger l " +
+                        "JOIN account a ON a.account_id = l.account_id WHERE a.user_id = ?", userId));
+        assertThat(sum("SELECT SUM(total_amount) FROM monthly_rollup WHERE user_id = ?", userId))
+                .isEqualByComparingTo(sum("SELECT SUM(amount) FROM transaction WHERE user_id = ?", userId));
+        assertThat(count("SELECT SUM(transaction_count) FROM monthly_rollup WHERE user_id = ?", userId))
+                .isEqualTo(100);
+        
+        // Alert levels match the counters, with the thresholds BudgetAlertService applies
+        assertThat(count("SELECT COUNT(*) FROM budget WHERE user_id = ? AND alert_level <> CASE "
+                + "WHEN spent_amount >= amount_limit THEN 100 "
+                + "WHEN spent_amount * 100 >= amount_limit * 80 THEN 80 ELSE 0 END", userId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM budget b JOIN users u ON u.user_id = b.user_id "
+                + "WHERE u.email LIKE 'loadtest-user-%' AND b.alert_level > 0", Long.class)).isPositive();
+    }
+    
+    private long count(String sql, Long userId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, userId);
+    }
+    
+    private BigDecimal sum(String sql, Long userId) {
+        return jdbcTemplate.queryForObject(sql, BigDecimal.class, userId);
+    }
+}
@@ -0,0 +1,38 @@
+package com.expensestracker.controller;
+
+import com.expensestracker.config.DebugLoggingFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminControllerTests {
+    
+    @Test
+    void debugLoggingSwitchNeedsTheToken() {
+        DebugLoggingFilter filter = new DebugLoggingFilter("s3cret");
+        AdminController controller = new AdminController(null, null, filter);
+        
+        assertThat(controller.enableDebugLogging(null, 7L).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(controller.enableDebugLogging("guess", 7L).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(filter.debugUsers()).isEmpty();
+        
+        assertThat(controller.enableDebugLogging("s3cret", 7L).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(filter.debugUsers()).containsExactly(7L);
+        
+        assertThat(controller.disableDebugLogging("guess", 7L).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(filter.debugUsers()).containsExactly(7L);
+        assertThat(controller.disableDebugLogging("s3cret", 7L).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(filter.debugUsers()).isEmpty();
+    }
+    
+    @Test
+    void debugLoggingSwitchIsDisabledWithoutAConfiguredToken() {
+        DebugLoggingFilter filter = new DebugLoggingFilter("");
+        AdminController controller = new AdminController(null, null, filter);
+        
+        assertThat(controller.enableDebugLogging("", 7L).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(controller.enableDebugLogging(null, 7L).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(filter.debugUsers()).isEmpty();
+    }
+}
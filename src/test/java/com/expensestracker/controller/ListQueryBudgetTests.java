@@ -0,0 +1,148 @@
+package com.expensestracker.controller;
+
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.*;
+import com.expensestracker.repository.*;
+import com.expensestracker.support.QueryCountingInspector;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards list endpoints against N+1 lazy loading: each request must stay within a fixed
+ * number of SQL statements regardless of how many rows it returns.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryBudgetTests {
+    
+    private static final int TRANSACTION_COUNT = 40;
+    private static final int BUDGET_COUNT = 6;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    private Long userId;
+    private Long transactionId;
+    
+    @BeforeAll
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .name("Query Budget")
+                .email("query-budget@example.com")
+                .password("not-a-real-hash")
+                .build());
+        userId = user.getUserId();
+        
+        Account checking = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("1000.00")).build());
+        Account cash = accountRepository.save(Account.builder()
+                .user(user).accountName("Cash").accountType(Account.AccountType.CASH)
+                .balance(new BigDecimal("100.00")).build());
+        
+        Category[] categories = {
+                categoryRepository.save(Category.builder().name("Rent").type(Category.CategoryType.EXPENSE)
+                        .classification(Category.CategoryClassification.NEED).build()),
+                categoryRepository.save(Category.builder().user(user).name("Games").type(Category.CategoryType.EXPENSE)
+                        .classification(Category.CategoryClassification.WANT).build()),
+                categoryRepository.save(Category.builder().user(user).name("Pay").type(Category.CategoryType.INCOME)
+                        .build())
+        };
+        
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            Category category = categories[i % categories.length];
+            Transaction saved = transactionRepository.save(Transaction.builder()
+                    .account(i % 2 == 0 ? checking : cash)
+                    .category(category)
+                    .amount(new BigDecimal("10.00"))
+                    .transactionType(category.getType() == Category.CategoryType.INCOME
+                            ? Transaction.TransactionType.INCOME
+                            : Transaction.TransactionType.EXPENSE)
+                    .transactionDate(today.minusDays(i))
+                    .build());
+            transactionId = saved.getTransactionId();
+        }
+        
+        for (int i = 0; i < BUDGET_COUNT; i++) {
+            budgetRepository.save(Budget.builder()
+                    .user(user)
+                    .category(categories[i % categories.length])
+                    .amountLimit(new BigDecimal("500.00"))
+                    .startDate(today.minusDays(30))
+                    .endDate(today.plusDays(30))
+                    .build());
+        }
+    }
+    
+    @Test
+    void transactionListUsesOneQuery() throws Exception {
+        assertQueryBudget("/api/transactions", 1);
+    }
+    
+    @Test
+    void transactionPagesUseOneQueryEach() throws Exception {
+        MvcResult first = assertQueryBudget("/api/transactions/page?size=10", 1);
+        JsonNode page = objectMapper.readTree(first.getResponse().getContentAsString()).get("data");
+        assertThat(page.get("transactions")).hasSize(10);
+        
+        assertQueryBudget("/api/transactions/page?size=10&cursor=" + page.get("nextCursor").asText(), 1);
+    }
+    
+    @Test
+    void transactionByIdUsesOneQuery() throws Exception {
+        assertQueryBudget("/api/transactions/" + transactionId, 1);
+    }
+    
+    @Test
+    void budgetListUsesOneQuery() throws Exception {
+        assertQueryBudget("/api/budgets", 1);
+    }
+    
+    private MvcResult assertQueryBudget(String url, int maxQueries) throws Exception {
+        QueryCountingInspector.reset();
+        MvcResult result = mockMvc.perform(get(url).header("userId", userId))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(QueryCountingInspector.count())
+                .as("SQL statements executed by GET %s", url)
+                .isLessThanOrEqualTo(maxQueries);
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.*;
+import com.expensestracker.support.QueryCountingInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL behind every repository query (as captured from Hibernate) against
+ * the migrated schema and fails if a user- or account-scoped query would scan one of the
+ * growing tables instead of using an index. Whole-table jobs (the startup backfills) are
+ * listed explicitly in ALLOWED_SCANS; the nightly rollup rebuild runs per user and is checked.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTests {
+    
+    // Tables that grow with usage; a scan of users/category is fine
+    private static final Set<String> LARGE_TABLES = Set.of("transaction", "account", "budget",
+            "balance_ledger", "balance_snapshot", "monthly_rollup", "outbox_event");
+    // Whole-table jobs that run once (startup backfills) and are expected to scan
+    private static final Set<String> ALLOWED_SCANS = Set.of("BalanceLedgerRepository.backfillOpeningEntries",
+            "BalanceLedgerRepository.backfillTransactionEntries", "BudgetRepository.initializeMissingSpent");
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*public\\.(\\w+)\\.tablescan", Pattern.CASE_INSENSITIVE);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+    
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+    
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    private final List<String> violations = new ArrayList<>();
+    
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+    private Long transactionId;
+    private Long budgetId;
+    private final LocalDate today = LocalDate.now();
+    
+    @BeforeAll
+    void seed() {
+        // Enough rows that the optimizer's cost model prefers indexes where they exist
+        User user = null;
+        for (int u = 0; u < 5; u++) {
+            user = userRepository.save(User.builder()
+                    .name("Plan " + u).email("plan-" + u + "-" + System.nanoTime() + "@example.com")
+                    .password("not-a-real-hash").build());
+            Account account = accountRepository.save(Account.builder()
+                    .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                    .balance(new BigDecimal("100.00")).build());
+            Category category = categoryRepository.save(Category.builder()
+                    .user(user).name("Food").type(Category.CategoryType.EXPENSE).build());
+            for (int i = 0; i < 60; i++) {
+                transactionId = transactionRepository.save(Transaction.builder()
+                        .account(account).category(category).amount(new BigDecimal("1.00"))
+                        .transactionType(Transaction.TransactionType.EXPENSE)
+                        .transactionDate(today.minusDays(i)).build()).getTransactionId();
+            }
+            budgetId = budgetRepository.save(Budget.builder()
+                    .user(user).category(category).amountLimit(new BigDecimal("50.00"))
+                    .startDate(today.minusDays(30)).endDate(today).build()).getBudgetId();
+            accountId = account.getAccountId();
+            categoryId = category.getCategoryId();
+            balanceLedgerRepository.save(new BalanceLedgerEntry(accountId, null,
+                    BalanceLedgerEntry.EntryType.OPENING, new BigDecimal("100.00"), today.minusDays(90)));
+            outboxEventRepository.save(new OutboxEvent("Account", accountId, "test", "{}"));
+            Long rollupUserId = user.getUserId();
+            transactionTemplate.executeWithoutResult(status -> monthlyRollupRepository.applyDelta(rollupUserId,
+                    categoryId, today.withDayOfMonth(1), "EXPENSE", new BigDecimal("60.00"), 60));
+        }
+        userId = user.getUserId();
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @Test
+    void userScopedQueriesUseIndexes() {
+        LocalDate from = today.minusDays(30);
+        
+        check("TransactionRepository.findByUserIdOrderByTransactionDateDescTransactionIdDesc",
+                () -> transactionRepository.findByUserIdOrderByTransactionDateDescTransactionIdDesc(userId));
+        check("TransactionRepository.findWithAccountAndCategoryByTransactionId",
+                () -> transactionRepository.findWithAccountAndCategoryByTransactionId(transactionId));
+        check("TransactionRepository.findFirstPageByUserId",
+                () -> transactionRepository.findFirstPageByUserId(userId, Limit.of(50)));
+        check("TransactionRepository.findPageByUserIdAfterCursor",
+                () -> transactionRepository.findPageByUserIdAfterCursor(userId, today, transactionId, Limit.of(50)));
+        check("TransactionRepository.findByUserIdAndTransactionDateBetweenOrderByTransactionDateDesc",
+                () -> transactionRepository.findByUserIdAndTransactionDateBetweenOrderByTransactionDateDesc(
+                        userId, from, today));
+        check("TransactionRepository.summarizeByTypeAndClassification",
+                () -> transactionRepository.summarizeByTypeAndClassification(userId, from, today));
+        check("TransactionRepository.findByUserIdAndTransactionType",
+                () -> transactionRepository.findByUserIdAndTransactionType(
+                        userId, Transaction.TransactionType.EXPENSE));
+        check("TransactionRepository.findByUserIdAndCategory_CategoryId",
+                () -> transactionRepository.findByUserIdAndCategory_CategoryId(userId, categoryId));
+        check("TransactionRepository.findByAccount_AccountId",
+                () -> transactionRepository.findByAccount_AccountId(accountId));
+        
+        check("AccountRepository.findByUser_UserId", () -> accountRepository.findByUser_UserId(userId));
+        check("AccountRepository.findByAccountIdAndUser_UserId",
+                () -> accountRepository.findByAccountIdAndUser_UserId(accountId, userId));
+        check("AccountRepository.findByUser_UserIdAndAccountType",
+                () -> accountRepository.findByUser_UserIdAndAccountType(userId, Account.AccountType.BANK_ACCOUNT));
+        
+        check("CategoryRepository.findByUser_UserId", () -> categoryRepository.findByUser_UserId(userId));
+        check("CategoryRepository.findByNameAndUser_UserId",
+                () -> categoryRepository.findByNameAndUser_UserId("Food", userId));
+        
+        check("BudgetRepository.findByUser_UserId", () -> budgetRepository.findByUser_UserId(userId));
+        check("BudgetRepository.findByBudgetIdAndUser_UserId",
+                () -> budgetRepository.findByBudgetIdAndUser_UserId(budgetId, userId));
+        check("BudgetRepository.findByUser_UserIdAndCategory_CategoryId",
+                () -> budgetRepository.findByUser_UserIdAndCategory_CategoryId(userId, categoryId));
+        check("BudgetRepository.findByUser_UserIdAndEndDateBefore",
+                () -> budgetRepository.findByUser_UserIdAndEndDateBefore(userId, today));
+        check("BudgetRepository.findUtilizationByUserId", () -> budgetRepository.findUtilizationByUserId(userId));
+        check("BudgetRepository.findUtilizationByBudgetIdAndUserId",
+                () -> budgetRepository.findUtilizationByBudgetIdAndUserId(budgetId, userId));
+        check("BudgetRepository.findCounters", () -> budgetRepository.findCounters(userId, categoryId, today));
+        check("BudgetRepository.findCountersByUserId", () -> budgetRepository.findCountersByUserId(userId));
+        check("BudgetRepository.findCounter", () -> budgetRepository.findCounter(budgetId));
+        check("BudgetRepository.addToSpent", () -> transactionTemplate.executeWithoutResult(status ->
+                budgetRepository.addToSpent(userId, categoryId, today, BigDecimal.ZERO)));
+        check("BudgetRepository.recomputeSpent", () -> transactionTemplate.executeWithoutResult(status ->
+                budgetRepository.recomputeSpent(budgetId)));
+        check("BudgetRepository.recomputeSpentForUser", () -> transactionTemplate.executeWithoutResult(status ->
+                budgetRepository.recomputeSpentForUser(userId)));
+        
+        check("MonthlyRollupRepository.summarizeByTypeAndClassification",
+                () -> monthlyRollupRepository.summarizeByTypeAndClassification(userId, from.withDayOfMonth(1), today));
+        // The nightly rebuild runs these two per user
+        check("MonthlyRollupRepository.deleteByUserId", () -> transactionTemplate.executeWithoutResult(status ->
+                monthlyRollupRepository.deleteByUserId(userId)));
+        check("MonthlyRollupRepository.rebuildForUser", () -> transactionTemplate.executeWithoutResult(status ->
+                monthlyRollupRepository.rebuildForUser(userId)));
+        
+        check("BalanceLedgerRepository.sumDeltasBetween",
+                () -> balanceLedgerRepository.sumDeltasBetween(accountId, from, today));
+        check("BalanceLedgerRepository.sumDeltasUpTo", () -> balanceLedgerRepository.sumDeltasUpTo(accountId, today));
+        check("BalanceSnapshotRepository.findFirstByAccountIdAndAsOfDateLessThanEqualOrderByAsOfDateDesc",
+                () -> balanceSnapshotRepository.findFirstByAccountIdAndAsOfDateLessThanEqualOrderByAsOfDateDesc(
+                        accountId, today));
+        check("BalanceSnapshotRepository.existsByAccountIdAndAsOfDate",
+                () -> balanceSnapshotRepository.existsByAccountIdAndAsOfDate(accountId, today));
+        
+        check("OutboxEventRepository.findPending", () -> outboxEventRepository.findPending(Limit.of(100)));
+        check("OutboxEventRepository.findByAggregateTypeAndAggregateIdOrderByEventId",
+                () -> outboxEventRepository.findByAggregateTypeAndAggregateIdOrderByEventId("Account", accountId));
+        
+        assertThat(violations).as("queries scanning a large table").isEmpty();
+    }
+    
+    @Test
+    void wholeTableJobsStillPlan() {
+        // Run and explained like the rest, then rolled back; their scans are not violations
+        check("BalanceLedgerRepository.backfillOpeningEntries", () -> transactionTemplate.executeWithoutResult(status -> {
+            balanceLedgerRepository.backfillOpeningEntries();
+            status.setRollbackOnly();
+        }));
+        check("BalanceLedgerRepository.backfillTransactionEntries", () -> transactionTemplate.executeWithoutResult(status -> {
+            balanceLedgerRepository.backfillTransactionEntries();
+            status.setRollbackOnly();
+        }));
+        check("BudgetRepository.initializeMissingSpent", () -> transactionTemplate.executeWithoutResult(status ->
+                budgetRepository.initializeMissingSpent()));
+        
+        assertThat(violations).as("queries scanning a large table").isEmpty();
+    }
+    
+    private void check(String query, Runnable call) {
+        QueryCountingInspector.startCapture();
+        try {
+            call.run();
+        } finally {
+            List<String> statements = QueryCountingInspector.stopCapture();
+            assertThat(statements).as("SQL captured for " + query).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                while (scan.find()) {
+                    if (LARGE_TABLES.contains(scan.group(1).toLowerCase(Locale.ROOT)) && !ALLOWED_SCANS.contains(query)) {
+                        violations.add(query + " scans " + scan.group(1) + ":\n" + plan);
+                    }
+                }
+            }
+        }
+    }
+    
+    // EXPLAIN with unbound parameters: H2 plans the statement without looking at the values
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setNull(i, Types.NULL);
+                }
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.expensestracker.repository;
+
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.service.TransactionService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database created by the original init.sql, the state Flyway
+ * baselines at V1, and checks every later migration brings it up to what the entities and the
+ * startup backfills expect.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class SchemaUpgradeTests {
+    
+    private static final String UPGRADE_URL = "jdbc:h2:mem:expense_tracker_upgrade;MODE=MySQL;"
+            + "DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    // Runs before the context (and so Flyway) starts: the database must already hold the old schema
+    @DynamicPropertySource
+    static void baselineDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        runScript(UPGRADE_URL, "db/upgrade/baseline-init.sql");
+        registry.add("spring.datasource.url", () -> UPGRADE_URL);
+    }
+    
+    @Test
+    void baselineDatabaseIsUpgradedAndBackfilled() {
+        // Marked as V1, not re-created, then every later version applied
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class)).isEqualTo("BASELINE");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success = TRUE AND type = 'SQL'", String.class))
+                .containsExactlyInAnyOrder("2", "3", "5", "6", "7");
+        
+        // Pre-existing rows got the columns added after the baseline
+        List<Map<String, Object>> transactions = jdbcTemplate.queryForList(
+                "SELECT user_id, transaction_type FROM transaction ORDER BY transaction_id");
+        assertThat(transactions).extracting(row -> row.get("transaction_type")).containsExactly("INCOME", "EXPENSE");
+        assertThat(transactions).extracting(row -> ((Number) row.get("user_id")).longValue()).containsOnly(1L);
+        
+        // Startup backfills ran against the new tables
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM monthly_rollup", Long.class)).isPositive();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balance_ledger WHERE account_id = 1", Long.class)).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT spent_amount FROM budget WHERE budget_id = 1", BigDecimal.class)).isEqualByComparingTo("150.00");
+    }
+    
+    @Test
+    void writesWorkOnTheUpgradedSchema() {
+        TransactionRequest request = new TransactionRequest(2L, 2L, new BigDecimal("25.00"),
+                "EXPENSE", "After upgrade", LocalDate.now());
+        transactionService.addTransaction(1L, request);
+        
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT balance FROM account WHERE account_id = 2", BigDecimal.class)).isEqualByComparingTo("475.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_event WHERE aggregate_id = 2", Long.class)).isPositive();
+    }
+    
+    @Test
+    void postBaselineMigrationsSkipObjectsAnOlderBuildAlreadyCreated() throws SQLException {
+        String url = "jdbc:h2:mem:expense_tracker_partial;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        runScript(url, "db/upgrade/baseline-init.sql");
+        // What ddl-auto=update left behind: some of the later columns, tables and indexes
+        JdbcTemplate partial = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        partial.execute("ALTER TABLE budget ADD COLUMN spent_amount DECIMAL(15,2)");
+        partial.execute("CREATE INDEX idx_budget_user_category ON budget(user_id, category_id)");
+        partial.execute("CREATE TABLE outbox_event (event_id BIGINT PRIMARY KEY AUTO_INCREMENT, "
+                + "aggregate_type VARCHAR(50) NOT NULL, aggregate_id BIGINT NOT NULL, "
+                + "event_type VARCHAR(100) NOT NULL, payload TEXT NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, published_at TIMESTAMP NULL)");
+        
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+        
+        assertThat(partial.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_name = 'outbox_event' AND column_name IN ('attempts', 'last_error', 'failed_at')",
+                Long.class)).isEqualTo(3L);
+        assertThat(partial.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_name = 'budget' AND column_name = 'alert_level'", Long.class)).isEqualTo(1L);
+    }
+    
+    private static void runScript(String url, String script) throws SQLException {
+        try (Connection connection = new DriverManagerDataSource(url, "sa", "").getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(script));
+        }
+    }
+}
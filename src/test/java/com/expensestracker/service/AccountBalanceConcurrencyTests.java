@@ -0,0 +1,125 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires concurrent adds and deletes at a single account and checks that no balance
+ * update is lost.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class AccountBalanceConcurrencyTests {
+    
+    private static final int THREADS = 16;
+    private static final int ADDS = 2000;
+    private static final int DELETES = 500;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Test
+    void concurrentAddsAndDeletesKeepBalanceExact() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Concurrency")
+                .email("concurrency@example.com")
+                .password("not-a-real-hash")
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .user(user).accountName("Hot account").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("1000.00")).build());
+        Category income = categoryRepository.save(Category.builder()
+                .user(user).name("Income").type(Category.CategoryType.INCOME).build());
+        Category expense = categoryRepository.save(Category.builder()
+                .user(user).name("Expense").type(Category.CategoryType.EXPENSE).build());
+        
+        Long userId = user.getUserId();
+        BigDecimal expected = new BigDecimal("1000.00");
+        
+        // Transactions that will be deleted while the adds run
+        List<Long> toDelete = new ArrayList<>();
+        for (int i = 0; i < DELETES; i++) {
+            toDelete.add(transactionService.addTransaction(userId,
+                    request(account, expense, new BigDecimal("2.00"), "EXPENSE")).getTransactionId());
+        }
+        // Deleting an expense gives its amount back, so seeding and deleting cancel out
+        
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < ADDS; i++) {
+            boolean isIncome = i % 3 != 0;
+            BigDecimal amount = new BigDecimal(isIncome ? "5.00" : "3.00");
+            expected = isIncome ? expected.add(amount) : expected.subtract(amount);
+            TransactionRequest request = request(account, isIncome ? income : expense, amount,
+                    isIncome ? "INCOME" : "EXPENSE");
+            tasks.add(() -> {
+                transactionService.addTransaction(userId, request);
+                return null;
+            });
+        }
+        for (Long transactionId : toDelete) {
+            tasks.add(() -> {
+                transactionService.deleteTransaction(userId, transactionId);
+                return null;
+            });
+        }
+        // A second delete of the same transaction must not revert the balance twice
+        for (int i = 0; i < 50; i++) {
+            Long transactionId = toDelete.get(i);
+            tasks.add(() -> {
+                try {
+                    transactionService.deleteTransaction(userId, transactionId);
+                } catch (RuntimeException ignored) {
+                    // Expected for whichever delete loses the race
+                }
+                return null;
+            });
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> result : pool.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        
+        BigDecimal actual = accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+        assertThat(actual).isEqualByComparingTo(expected);
+    }
+    
+    private static TransactionRequest request(Account account, Category category, BigDecimal amount, String type) {
+        return new TransactionRequest(account.getAccountId(), category.getCategoryId(), amount, type,
+                "stress", LocalDate.now());
+    }
+}
@@ -0,0 +1,190 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.AccountRequest;
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.BalanceLedgerEntry;
+import com.expensestracker.model.BalanceSnapshot;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.BalanceSnapshotRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * As-of balances from the ledger and nightly snapshots, and snapshot invalidation by
+ * back-dated writes, including one that is still uncommitted while the snapshot job runs.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BalanceLedgerTests {
+    
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+    
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    private Long userId;
+    private Long accountId;
+    private Long salaryId;
+    private Long groceriesId;
+    
+    // Opening balance 0 today; +100 ten days ago, -30 five days ago, -5 today
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .name("Ledger").email("ledger-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build());
+        userId = user.getUserId();
+        salaryId = categoryRepository.save(Category.builder()
+                .user(user).name("Salary").type(Category.CategoryType.INCOME).build()).getCategoryId();
+        groceriesId = categoryRepository.save(Category.builder()
+                .user(user).name("Groceries").type(Category.CategoryType.EXPENSE).build()).getCategoryId();
+        accountId = accountService.createAccount(userId,
+                new AccountRequest("Checking", "BANK_ACCOUNT", BigDecimal.ZERO)).getAccountId();
+        
+        add(salaryId, "100.00", "INCOME", TODAY.minusDays(10));
+        add(groceriesId, "30.00", "EXPENSE", TODAY.minusDays(5));
+        add(groceriesId, "5.00", "EXPENSE", TODAY);
+    }
+    
+    @Test
+    void asOfBalancesAreTheSameBeforeAndAfterASnapshot() throws Exception {
+        assertBalances("0.00", "100.00", "70.00", "65.00");
+        
+        balanceLedgerService.takeSnapshots();
+        
+        assertThat(snapshot()).hasValueSatisfying(s -> assertThat(s.getBalance()).isEqualByComparingTo("70.00"));
+        assertBalances("0.00", "100.00", "70.00", "65.00");
+        mockMvc.perform(get("/api/accounts/" + accountId + "/balance")
+                        .param("asOf", TODAY.minusDays(7).toString()).header("userId", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balance").value(100.0));
+        mockMvc.perform(get("/api/accounts/" + accountId + "/balance").header("userId", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.balance").value(65.0));
+    }
+    
+    @Test
+    void backDatedInsertDropsTheStaleSnapshot() throws Exception {
+        balanceLedgerService.takeSnapshots();
+        
+        add(groceriesId, "20.00", "EXPENSE", TODAY.minusDays(3));
+        assertThat(snapshot()).isEmpty();
+        assertBalances("0.00", "100.00", "50.00", "45.00");
+        
+        // Bulk appends (imports) invalidate the same way
+        balanceLedgerService.takeSnapshots();
+        transactionTemplate.executeWithoutResult(status -> balanceLedgerService.appendAll(List.of(
+                new BalanceLedgerEntry(accountId, null, BalanceLedgerEntry.EntryType.IMPORT,
+                        new BigDecimal("-10.00"), TODAY.minusDays(2)))));
+        assertThat(snapshot()).isEmpty();
+        assertBalances("0.00", "100.00", "40.00", "35.00");
+    }
+    
+    @Test
+    void deleteIsReversedInBalancesOnTheOriginalDate() throws Exception {
+        Long back = add(groceriesId, "20.00", "EXPENSE", TODAY.minusDays(3));
+        balanceLedgerService.takeSnapshots();
+        
+        transactionService.deleteTransaction(userId, back);
+        
+        assertThat(snapshot()).isEmpty();
+        assertBalances("0.00", "100.00", "70.00", "65.00");
+        assertThat(balanceLedgerService.getBalanceAsOf(accountId, TODAY.minusDays(4)))
+                .isEqualByComparingTo("70.00");
+    }
+    
+    @Test
+    void snapshotWaitsForAnUncommittedBackDatedWrite() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            add(groceriesId, "20.00", "EXPENSE", TODAY.minusDays(3));
+            written.countDown();
+            await(release);
+        }));
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        CompletableFuture<Void> snapshots = CompletableFuture.runAsync(balanceLedgerService::takeSnapshots);
+        Thread.sleep(300);
+        release.countDown();
+        writer.get(20, TimeUnit.SECONDS);
+        snapshots.get(20, TimeUnit.SECONDS);
+        
+        // Either the snapshot includes the write or the write removed it; never a stale one
+        snapshot().ifPresent(s -> assertThat(s.getBalance()).isEqualByComparingTo("50.00"));
+        assertThat(balanceLedgerService.getBalanceAsOf(accountId, YESTERDAY)).isEqualByComparingTo("50.00");
+    }
+    
+    private Long add(Long categoryId, String amount, String type, LocalDate date) {
+        return transactionService.addTransaction(userId, new TransactionRequest(accountId, categoryId,
+                new BigDecimal(amount), type, null, date)).getTransactionId();
+    }
+    
+    private Optional<BalanceSnapshot> snapshot() {
+        return balanceSnapshotRepository.findFirstByAccountIdAndAsOfDateLessThanEqualOrderByAsOfDateDesc(
+                accountId, YESTERDAY);
+    }
+    
+    // Balances as of 11 days ago, 7 days ago, yesterday and today
+    private void assertBalances(String elevenDaysAgo, String sevenDaysAgo, String yesterday, String today) {
+        assertThat(balanceLedgerService.getBalanceAsOf(accountId, TODAY.minusDays(11))).isEqualByComparingTo(elevenDaysAgo);
+        assertThat(balanceLedgerService.getBalanceAsOf(accountId, TODAY.minusDays(7))).isEqualByComparingTo(sevenDaysAgo);
+        assertThat(balanceLedgerService.getBalanceAsOf(accountId, YESTERDAY)).isEqualByComparingTo(yesterday);
+        assertThat(balanceLedgerService.getBalanceAsOf(accountId, TODAY)).isEqualByComparingTo(today);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(20, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
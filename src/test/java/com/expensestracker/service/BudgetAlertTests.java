@@ -0,0 +1,175 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.BudgetRequest;
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.BudgetResponse;
+import com.expensestracker.event.BudgetThresholdCrossedEvent;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.*;
+import com.expensestracker.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class BudgetAlertTests {
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void thresholdsAlertOncePerCrossing() throws Exception {
+        User user = userRepository.save(User.builder()
+                .name("Budget Alerts")
+                .email("budget-alerts-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("1000.00")).build());
+        Category dining = categoryRepository.save(Category.builder()
+                .user(user).name("Dining").type(Category.CategoryType.EXPENSE).build());
+        Long userId = user.getUserId();
+        LocalDate today = LocalDate.now();
+        
+        // Spend before the budget exists is picked up when the budget is created
+        spend(userId, account, dining, "50.00", today);
+        BudgetRequest budgetRequest = new BudgetRequest();
+        budgetRequest.setCategoryId(dining.getCategoryId());
+        budgetRequest.setAmountLimit(new BigDecimal("100.00"));
+        budgetRequest.setStartDate(today.minusDays(10));
+        budgetRequest.setEndDate(today.plusDays(10));
+        BudgetResponse budget = budgetService.createBudget(userId, budgetRequest);
+        Long budgetId = budget.getBudgetId();
+        assertThat(alerts(budgetId)).isEmpty();
+        
+        spend(userId, account, dining, "35.00", today);
+        assertThat(alerts(budgetId)).containsExactly(80);
+        
+        // Outside the window: no effect on the counter
+        spend(userId, account, dining, "500.00", today.plusDays(11));
+        assertThat(alerts(budgetId)).containsExactly(80);
+        
+        Long overspend = spend(userId, account, dining, "20.00", today);
+        assertThat(alerts(budgetId)).containsExactly(80, 100);
+        assertThat(budgetRepository.findById(budgetId).orElseThrow().getSpentAmount())
+                .isEqualByComparingTo("105.00");
+        
+        // Dropping back under 100% re-arms that threshold
+        transactionService.deleteTransaction(userId, overspend);
+        spend(userId, account, dining, "20.00", today);
+        assertThat(alerts(budgetId)).containsExactly(80, 100, 100);
+        
+        BudgetThresholdCrossedEvent last = objectMapper.readValue(
+                outboxEventRepository.findByAggregateTypeAndAggregateIdOrderByEventId("Budget", budgetId).stream()
+                        .reduce((first, second) -> second).orElseThrow().getPayload(),
+                BudgetThresholdCrossedEvent.class);
+        assertThat(last.userId()).isEqualTo(userId);
+        assertThat(last.spentAmount()).isEqualByComparingTo("105.00");
+    }
+    
+    @Test
+    void incomeLeavesTheCounterUnchanged() {
+        User user = userRepository.save(User.builder()
+                .name("Budget Income")
+                .email("budget-income-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+        Account account = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("1000.00")).build());
+        Category dining = categoryRepository.save(Category.builder()
+                .user(user).name("Dining").type(Category.CategoryType.EXPENSE).build());
+        Long userId = user.getUserId();
+        LocalDate today = LocalDate.now();
+        
+        spend(userId, account, dining, "60.00", today);
+        BudgetRequest budgetRequest = new BudgetRequest();
+        budgetRequest.setCategoryId(dining.getCategoryId());
+        budgetRequest.setAmountLimit(new BigDecimal("100.00"));
+        budgetRequest.setStartDate(today.minusDays(10));
+        budgetRequest.setEndDate(today.plusDays(10));
+        Long budgetId = budgetService.createBudget(userId, budgetRequest).getBudgetId();
+        
+        // A refund booked as INCOME in the budgeted category, large enough to cross every threshold
+        Long refund = record(userId, account, dining, "500.00", "INCOME", today);
+        assertThat(budgetRepository.findById(budgetId).orElseThrow().getSpentAmount())
+                .isEqualByComparingTo("60.00");
+        assertThat(budgetService.getBudgetById(userId, budgetId).getSpentAmount()).isEqualByComparingTo("60.00");
+        assertThat(alerts(budgetId)).isEmpty();
+        
+        // Recomputing from the transaction table agrees with the running counter
+        budgetAlertService.recomputeForUser(userId);
+        assertThat(budgetRepository.findById(budgetId).orElseThrow().getSpentAmount())
+                .isEqualByComparingTo("60.00");
+        
+        transactionService.deleteTransaction(userId, refund);
+        assertThat(budgetRepository.findById(budgetId).orElseThrow().getSpentAmount())
+                .isEqualByComparingTo("60.00");
+        assertThat(budgetService.getUserBudgets(userId)).singleElement()
+                .satisfies(budget -> assertThat(budget.getSpentAmount()).isEqualByComparingTo("60.00"));
+    }
+    
+    private Long spend(Long userId, Account account, Category category, String amount, LocalDate date) {
+        return record(userId, account, category, amount, "EXPENSE", date);
+    }
+    
+    private Long record(Long userId, Account account, Category category, String amount, String type,
+                        LocalDate date) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(account.getAccountId());
+        request.setCategoryId(category.getCategoryId());
+        request.setAmount(new BigDecimal(amount));
+        request.setTransactionType(type);
+        request.setTransactionDate(date);
+        return transactionService.addTransaction(userId, request).getTransactionId();
+    }
+    
+    private List<Integer> alerts(Long budgetId) {
+        return outboxEventRepository.findByAggregateTypeAndAggregateIdOrderByEventId("Budget", budgetId).stream()
+                .filter(event -> event.getEventType().equals(BudgetThresholdCrossedEvent.class.getName()))
+                .map(event -> {
+                    try {
+                        return objectMapper.readValue(event.getPayload(), BudgetThresholdCrossedEvent.class)
+                                .thresholdPercent();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
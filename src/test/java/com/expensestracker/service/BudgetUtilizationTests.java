@@ -0,0 +1,117 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.response.BudgetResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.*;
+import com.expensestracker.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class BudgetUtilizationTests {
+    
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Test
+    void spendIsSummedPerBudgetWindowAndOwner() {
+        User owner = newUser();
+        User other = newUser();
+        Account ownerAccount = newAccount(owner);
+        Account otherAccount = newAccount(other);
+        
+        // Shared system category: the other user's spend must not count
+        Category food = categoryRepository.save(Category.builder()
+                .name("Food " + UUID.randomUUID()).type(Category.CategoryType.EXPENSE).build());
+        Category fun = categoryRepository.save(Category.builder()
+                .user(owner).name("Fun").type(Category.CategoryType.EXPENSE).build());
+        
+        spend(ownerAccount, food, "30.00", START);
+        spend(ownerAccount, food, "10.00", END);
+        spend(ownerAccount, food, "99.00", END.plusDays(1));
+        spend(otherAccount, food, "50.00", START.plusDays(3));
+        
+        Budget foodBudget = budget(owner, food, "80.00");
+        Budget funBudget = budget(owner, fun, "20.00");
+        
+        List<BudgetResponse> budgets = budgetService.getUserBudgets(owner.getUserId());
+        
+        assertThat(budgets).hasSize(2);
+        BudgetResponse foodResponse = budgets.stream()
+                .filter(b -> b.getBudgetId().equals(foodBudget.getBudgetId())).findFirst().orElseThrow();
+        assertThat(foodResponse.getSpentAmount()).isEqualByComparingTo("40.00");
+        assertThat(foodResponse.getRemainingAmount()).isEqualByComparingTo("40.00");
+        assertThat(foodResponse.getPercentUsed()).isEqualByComparingTo("50.00");
+        
+        BudgetResponse funResponse = budgets.stream()
+                .filter(b -> b.getBudgetId().equals(funBudget.getBudgetId())).findFirst().orElseThrow();
+        assertThat(funResponse.getSpentAmount()).isEqualByComparingTo("0");
+        assertThat(funResponse.getRemainingAmount()).isEqualByComparingTo("20.00");
+        assertThat(funResponse.getPercentUsed()).isEqualByComparingTo("0");
+        
+        assertThat(budgetService.getBudgetById(owner.getUserId(), foodBudget.getBudgetId()).getSpentAmount())
+                .isEqualByComparingTo("40.00");
+    }
+    
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Budget Utilisation")
+                .email("budget-utilisation-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+    }
+    
+    private Account newAccount(User user) {
+        return accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("500.00")).build());
+    }
+    
+    private void spend(Account account, Category category, String amount, LocalDate date) {
+        transactionRepository.save(Transaction.builder()
+                .account(account)
+                .category(category)
+                .amount(new BigDecimal(amount))
+                .transactionType(Transaction.TransactionType.EXPENSE)
+                .transactionDate(date)
+                .build());
+    }
+    
+    private Budget budget(User user, Category category, String limit) {
+        return budgetRepository.save(Budget.builder()
+                .user(user)
+                .category(category)
+                .amountLimit(new BigDecimal(limit))
+                .startDate(START)
+                .endDate(END)
+                .build());
+    }
+}
@@ -0,0 +1,156 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.CategoryRequest;
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.CategoryResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import com.expensestracker.support.QueryCountingInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class CategoryCacheTests {
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private CategoryCache categoryCache;
+    
+    @Autowired
+    private SystemCategoryRegistry systemCategoryRegistry;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    private User user;
+    private Account account;
+    
+    @BeforeEach
+    void seed() {
+        user = newUser();
+        account = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("100.00")).build());
+        categoryCache.invalidateAll();
+    }
+    
+    @Test
+    void repeatedListingIsServedFromMemory() {
+        categoryService.createCategory(user.getUserId(), new CategoryRequest("Books", "EXPENSE", "WANT"));
+        List<CategoryResponse> first = categoryService.getAllCategories(user.getUserId());
+        
+        QueryCountingInspector.reset();
+        List<CategoryResponse> second = categoryService.getAllCategories(user.getUserId());
+        
+        assertThat(QueryCountingInspector.count()).isZero();
+        assertThat(second).extracting(CategoryResponse::getCategoryId)
+                .containsExactlyElementsOf(first.stream().map(CategoryResponse::getCategoryId).toList());
+    }
+    
+    @Test
+    void createAndDeleteInvalidateTheOwnersEntry() {
+        assertThat(categoryService.getAllCategories(user.getUserId()))
+                .noneMatch(c -> c.getCategoryName().equals("Travel"));
+        
+        CategoryResponse travel = categoryService.createCategory(user.getUserId(),
+                new CategoryRequest("Travel", "EXPENSE", "WANT"));
+        assertThat(categoryService.getAllCategories(user.getUserId()))
+                .anyMatch(c -> c.getCategoryId().equals(travel.getCategoryId()));
+        
+        categoryService.deleteCategory(user.getUserId(), travel.getCategoryId());
+        assertThat(categoryService.getAllCategories(user.getUserId()))
+                .noneMatch(c -> c.getCategoryId().equals(travel.getCategoryId()));
+    }
+    
+    @Test
+    void addTransactionResolvesCategoryWithoutSelectingIt() {
+        CategoryResponse salary = categoryService.createCategory(user.getUserId(),
+                new CategoryRequest("Salary", "INCOME"));
+        categoryService.getAllCategories(user.getUserId());
+        
+        QueryCountingInspector.reset();
+        transactionService.addTransaction(user.getUserId(), request(salary.getCategoryId()));
+        long withWarmCache = QueryCountingInspector.count();
+        
+        categoryCache.invalidateAll();
+        QueryCountingInspector.reset();
+        transactionService.addTransaction(user.getUserId(), request(salary.getCategoryId()));
+        long withColdCache = QueryCountingInspector.count();
+        
+        assertThat(withWarmCache).isLessThan(withColdCache);
+        assertThat(categoryCache.stats().hitCount()).isPositive();
+    }
+    
+    @Test
+    void anotherUsersCategoryIsRejected() {
+        User other = newUser();
+        Category foreign = categoryRepository.save(Category.builder()
+                .user(other).name("Private").type(Category.CategoryType.EXPENSE).build());
+        
+        assertThatThrownBy(() -> transactionService.addTransaction(user.getUserId(), request(foreign.getCategoryId())))
+                .hasMessage("Category not found");
+    }
+    
+    @Test
+    void systemCategoriesComeFromTheRegistryAfterRefresh() {
+        Category utilities = categoryRepository.save(Category.builder()
+                .name("Utilities " + UUID.randomUUID()).type(Category.CategoryType.EXPENSE).build());
+        assertThat(categoryService.getSystemCategories())
+                .noneMatch(c -> c.getCategoryId().equals(utilities.getCategoryId()));
+        
+        systemCategoryRegistry.refresh();
+        
+        QueryCountingInspector.reset();
+        List<CategoryResponse> system = categoryService.getSystemCategories();
+        assertThat(QueryCountingInspector.count()).isZero();
+        assertThat(system).anyMatch(c -> c.getCategoryId().equals(utilities.getCategoryId()) && c.isSystemCategory());
+        assertThat(categoryService.getAllCategories(user.getUserId()))
+                .anyMatch(c -> c.getCategoryId().equals(utilities.getCategoryId()));
+    }
+    
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .name("Category Cache")
+                .email("category-cache-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+    }
+    
+    private TransactionRequest request(Long categoryId) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(account.getAccountId());
+        request.setCategoryId(categoryId);
+        request.setAmount(new BigDecimal("10.00"));
+        request.setTransactionType("INCOME");
+        request.setTransactionDate(LocalDate.now());
+        return request;
+    }
+}
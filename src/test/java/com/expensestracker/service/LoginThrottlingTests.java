@@ -0,0 +1,85 @@
+package com.expensestracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottlingTests {
+    
+    @Test
+    void emailLimitAppliesAcrossAddressesAndResetsOnSuccess() {
+        LoginRateLimiter limiter = new LoginRateLimiter(3, 0, 60);
+        limiter.acquire("alice@example.com", "10.0.0.1");
+        limiter.acquire("Alice@Example.com", "10.0.0.2");
+        limiter.acquire("alice@example.com ", "10.0.0.3");
+        
+        assertThatThrownBy(() -> limiter.acquire("alice@example.com", "10.0.0.4"))
+                .isInstanceOf(LoginRateLimiter.LimitExceededException.class)
+                .extracting(e -> ((LoginRateLimiter.LimitExceededException) e).getRetryAfterSeconds())
+                .isEqualTo(60L);
+        limiter.acquire("bob@example.com", "10.0.0.4");
+        
+        limiter.reset("alice@example.com");
+        limiter.acquire("alice@example.com", "10.0.0.5");
+    }
+    
+    @Test
+    void addressLimitAppliesAcrossEmails() {
+        LoginRateLimiter limiter = new LoginRateLimiter(0, 2, 60);
+        limiter.acquire("a@example.com", "10.0.0.1");
+        limiter.acquire("b@example.com", "10.0.0.1");
+        
+        assertThatThrownBy(() -> limiter.acquire("c@example.com", "10.0.0.1"))
+                .isInstanceOf(LoginRateLimiter.LimitExceededException.class);
+        limiter.acquire("c@example.com", "10.0.0.2");
+    }
+    
+    @Test
+    void saturatedHasherRejectsInsteadOfQueueing() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordHasher hasher = new PasswordHasher(new BlockingEncoder(release), new SimpleMeterRegistry(), 1, 1);
+        try {
+            CompletableFuture<String> running = hasher.encode("first");
+            CompletableFuture<String> queued = hasher.encode("second");
+            
+            assertThatThrownBy(() -> hasher.encode("third")).isInstanceOf(PasswordHasher.BusyException.class);
+            
+            release.countDown();
+            assertThat(running.get()).isEqualTo("hashed:first");
+            assertThat(queued.get()).isEqualTo("hashed:second");
+        } finally {
+            hasher.shutdown();
+        }
+    }
+    
+    // Holds every hashing thread until released
+    private static class BlockingEncoder implements PasswordEncoder {
+        
+        private final CountDownLatch release;
+        
+        BlockingEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+        
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+        
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
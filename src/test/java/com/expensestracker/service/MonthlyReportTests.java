@@ -0,0 +1,178 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.ReportResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reports read whole months from monthly_rollup and the partial months at either edge from
+ * the transaction table; both must add up to the same totals as the raw rows.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class MonthlyReportTests {
+    
+    @Autowired
+    private ReportService reportService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Long userId;
+    private Long accountId;
+    private Long salaryId;
+    private Long rentId;
+    private Long diningId;
+    
+    @BeforeEach
+    void seed() {
+        User user = userRepository.save(User.builder()
+                .name("Reports").email("reports-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build());
+        userId = user.getUserId();
+        accountId = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("10000.00")).build()).getAccountId();
+        salaryId = category(user, "Salary", Category.CategoryType.INCOME, null);
+        rentId = category(user, "Rent", Category.CategoryType.EXPENSE, Category.CategoryClassification.NEED);
+        diningId = category(user, "Dining", Category.CategoryType.EXPENSE, Category.CategoryClassification.WANT);
+        
+        add(rentId, "100.00", "EXPENSE", "2025-01-10");
+        add(diningId, "40.00", "EXPENSE", "2025-01-20");
+        add(salaryId, "1000.00", "INCOME", "2025-01-31");
+        add(rentId, "500.00", "EXPENSE", "2025-02-01");
+        add(diningId, "60.00", "EXPENSE", "2025-02-14");
+        add(salaryId, "2000.00", "INCOME", "2025-02-28");
+        add(diningId, "25.00", "EXPENSE", "2025-03-01");
+        add(rentId, "300.00", "EXPENSE", "2025-03-10");
+        add(diningId, "999.00", "EXPENSE", "2025-03-11");
+    }
+    
+    @Test
+    void rangeInsideOneMonth() {
+        assertReport(report("2025-02-05", "2025-02-20"), "0", "60", "0", "60");
+        assertReport(report("2025-02-01", "2025-02-01"), "0", "500", "500", "0");
+        assertReport(report("2025-01-11", "2025-01-30"), "0", "40", "0", "40");
+    }
+    
+    @Test
+    void wholeMonthsComeFromTheRollup() {
+        assertReport(report("2025-02-01", "2025-02-28"), "2000", "560", "500", "60");
+        assertReport(report("2025-01-01", "2025-03-31"), "3000", "2024", "900", "1124");
+    }
+    
+    @Test
+    void rangeWithPartialStartAndEndMonths() {
+        // Jan 15-31 and Mar 1-10 from transactions, February from the rollup; both edges inclusive
+        ReportResponse report = report("2025-01-15", "2025-03-10");
+        
+        assertReport(report, "3000", "925", "800", "125");
+        assertThat(report.getNetBalance()).isEqualByComparingTo("2075");
+        assertThat(report.getNeedsPercentage()).isEqualTo(86.49);
+        assertThat(report.getWantsPercentage()).isEqualTo(13.51);
+        
+        // Partial end month only, and partial start month only
+        assertReport(report("2025-02-01", "2025-03-10"), "2000", "885", "800", "85");
+        assertReport(report("2025-01-15", "2025-02-28"), "3000", "600", "500", "100");
+    }
+    
+    @Test
+    void addThenDeleteLeavesNoTrace() {
+        Long dinner = add(diningId, "70.00", "EXPENSE", "2025-04-12");
+        Long rent = add(rentId, "30.00", "EXPENSE", "2025-04-20");
+        assertReport(report("2025-04-01", "2025-04-30"), "0", "100", "30", "70");
+        
+        transactionService.deleteTransaction(userId, dinner);
+        assertReport(report("2025-04-01", "2025-04-30"), "0", "30", "30", "0");
+        assertReport(report("2025-04-10", "2025-04-15"), "0", "0", "0", "0");
+        
+        transactionService.deleteTransaction(userId, rent);
+        assertReport(report("2025-04-01", "2025-04-30"), "0", "0", "0", "0");
+        // Emptied buckets are removed, not left behind with a zero count
+        assertThat(aprilRollups()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM monthly_rollup WHERE user_id = ? "
+                + "AND transaction_count <= 0", Long.class, userId)).isZero();
+        
+        // The incrementally maintained rollup matches a rebuild from the transaction table
+        long before = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM monthly_rollup WHERE user_id = ?", Long.class, userId);
+        monthlyRollupService.rebuildForUser(userId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM monthly_rollup WHERE user_id = ?", Long.class, userId)).isEqualTo(before);
+        assertReport(report("2025-01-01", "2025-04-30"), "3000", "2024", "900", "1124");
+    }
+    
+    @Test
+    void nightlyRebuildMatchesTheIncrementalRollup() {
+        String rollup = "SELECT category_id, month_start, transaction_type, total_amount, transaction_count "
+                + "FROM monthly_rollup WHERE user_id = ? ORDER BY category_id, month_start, transaction_type";
+        transactionService.deleteTransaction(userId, add(diningId, "15.00", "EXPENSE", "2025-02-03"));
+        List<Map<String, Object>> before = jdbcTemplate.queryForList(rollup, userId);
+        
+        monthlyRollupService.rebuildAll();
+        assertThat(jdbcTemplate.queryForList(rollup, userId)).isEqualTo(before);
+        assertReport(report("2025-01-01", "2025-03-31"), "3000", "2024", "900", "1124");
+    }
+    
+    private ReportResponse report(String from, String to) {
+        return reportService.generateMonthlyReport(userId, LocalDate.parse(from), LocalDate.parse(to));
+    }
+    
+    private static void assertReport(ReportResponse report, String income, String expenses, String needs, String wants) {
+        assertThat(report.getTotalIncome()).isEqualByComparingTo(income);
+        assertThat(report.getTotalExpenses()).isEqualByComparingTo(expenses);
+        assertThat(report.getNeedsSpending()).isEqualByComparingTo(needs);
+        assertThat(report.getWantsSpending()).isEqualByComparingTo(wants);
+    }
+    
+    private long aprilRollups() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM monthly_rollup WHERE user_id = ? "
+                + "AND month_start = DATE '2025-04-01'", Long.class, userId);
+    }
+    
+    private Long category(User user, String name, Category.CategoryType type,
+                          Category.CategoryClassification classification) {
+        return categoryRepository.save(Category.builder()
+                .user(user).name(name).type(type).classification(classification).build()).getCategoryId();
+    }
+    
+    private Long add(Long categoryId, String amount, String type, String date) {
+        return transactionService.addTransaction(userId, new TransactionRequest(accountId, categoryId,
+                new BigDecimal(amount), type, null, LocalDate.parse(date))).getTransactionId();
+    }
+}
@@ -0,0 +1,139 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.event.TransactionRecordedEvent;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.*;
+import com.expensestracker.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+@Import(OutboxDispatcherTests.RecordingListener.class)
+class OutboxDispatcherTests {
+    
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private RecordingListener listener;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    private Long userId;
+    private Account account;
+    private Category category;
+    
+    @BeforeEach
+    void seed() {
+        drain();
+        listener.received.clear();
+        listener.failuresLeft.set(0);
+        
+        User user = userRepository.save(User.builder()
+                .name("Outbox")
+                .email("outbox-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash")
+                .build());
+        userId = user.getUserId();
+        account = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal("100.00")).build());
+        category = categoryRepository.save(Category.builder()
+                .user(user).name("Misc").type(Category.CategoryType.EXPENSE).build());
+    }
+    
+    @Test
+    void eventsAreDeliveredAfterCommitInOrderAndMarkedPublished() {
+        Long first = add("1.00");
+        Long second = add("2.00");
+        Long third = add("3.00");
+        assertThat(listener.received).isEmpty();
+        
+        drain();
+        
+        assertThat(listener.received).containsExactly(first, second, third);
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderByEventId("Account", account.getAccountId()))
+                .allMatch(event -> event.getPublishedAt() != null);
+    }
+    
+    @Test
+    void failedDeliveryIsRetriedWithoutOvertakingLaterEvents() {
+        listener.failuresLeft.set(1);
+        Long first = add("1.00");
+        Long second = add("2.00");
+        
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received).isEmpty();
+        
+        drain();
+        
+        assertThat(listener.received).containsExactly(first, second);
+        assertThat(outboxEventRepository.findByAggregateTypeAndAggregateIdOrderByEventId("Account", account.getAccountId()))
+                .first()
+                .satisfies(event -> {
+                    assertThat(event.getAttempts()).isEqualTo(2);
+                    assertThat(event.getPublishedAt()).isNotNull();
+                });
+    }
+    
+    private void drain() {
+        while (outboxDispatcher.dispatchPending() > 0) {
+            // keep going until nothing is left to deliver
+        }
+    }
+    
+    private Long add(String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setAccountId(account.getAccountId());
+        request.setCategoryId(category.getCategoryId());
+        request.setAmount(new BigDecimal(amount));
+        request.setTransactionType("EXPENSE");
+        request.setTransactionDate(LocalDate.now());
+        return transactionService.addTransaction(userId, request).getTransactionId();
+    }
+    
+    @TestConfiguration
+    static class RecordingListener {
+        
+        final List<Long> received = new CopyOnWriteArrayList<>();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        
+        @EventListener
+        public void onTransactionRecorded(TransactionRecordedEvent event) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("Simulated listener failure");
+            }
+            received.add(event.transactionId());
+        }
+    }
+}
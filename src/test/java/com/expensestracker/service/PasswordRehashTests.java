@@ -0,0 +1,74 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.LoginRequest;
+import com.expensestracker.dto.response.UserResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class PasswordRehashTests {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Test
+    void weakHashIsUpgradedAfterSuccessfulLogin() throws Exception {
+        String email = "rehash-" + UUID.randomUUID() + "@example.com";
+        String weakHash = new BCryptPasswordEncoder(4).encode("s3cret-password");
+        User user = userRepository.save(User.builder().name("Rehash").email(email).password(weakHash).build());
+        
+        UserResponse response = userService.loginUser(login(email, "s3cret-password"), "127.0.0.1")
+                .get(10, TimeUnit.SECONDS);
+        assertThat(response.getToken()).isNotBlank();
+        
+        String upgraded = weakHash;
+        for (int i = 0; i < 100 && upgraded.equals(weakHash); i++) {
+            Thread.sleep(50);
+            upgraded = userRepository.findById(user.getUserId()).orElseThrow().getPassword();
+        }
+        assertThat(upgraded).isNotEqualTo(weakHash);
+        assertThat(passwordEncoder.upgradeEncoding(upgraded)).isFalse();
+        assertThat(passwordEncoder.matches("s3cret-password", upgraded)).isTrue();
+    }
+    
+    @Test
+    void wrongPasswordLeavesHashUntouched() {
+        String email = "rehash-" + UUID.randomUUID() + "@example.com";
+        String weakHash = new BCryptPasswordEncoder(4).encode("s3cret-password");
+        User user = userRepository.save(User.builder().name("Rehash").email(email).password(weakHash).build());
+        
+        assertThatThrownBy(() -> userService.loginUser(login(email, "wrong-password"), "127.0.0.1")
+                .get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Invalid email or password");
+        assertThat(userRepository.findById(user.getUserId()).orElseThrow().getPassword()).isEqualTo(weakHash);
+    }
+    
+    private static LoginRequest login(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
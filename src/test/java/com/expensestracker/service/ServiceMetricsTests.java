@@ -0,0 +1,52 @@
+package com.expensestracker.service;
+
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class ServiceMetricsTests {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void serviceAndRepositoryCallsAreTimed() {
+        User user = userRepository.save(User.builder()
+                .name("Metrics").email("metrics-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build());
+        
+        categoryService.getAllCategories(user.getUserId());
+        assertThatThrownBy(() -> categoryService.deleteCategory(user.getUserId(), -1L))
+                .isInstanceOf(RuntimeException.class);
+        
+        assertThat(meterRegistry.find("expenses.service")
+                .tags("class", CategoryService.class.getName(), "method", "getAllCategories", "exception", "none")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("expenses.service")
+                .tags("method", "deleteCategory", "exception", "RuntimeException")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "method", "save")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauges()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "categories").functionCounters()).isNotEmpty();
+    }
+}
@@ -0,0 +1,199 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streams more rows than the persistence-context clear interval through both export formats
+ * and checks every row arrives once, in order, escaped, and only for the calling user.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportTests {
+    
+    // More than two clear intervals (500), not a multiple of it
+    private static final int ROW_COUNT = 1201;
+    private static final LocalDate START = LocalDate.now().minusDays(ROW_COUNT);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private TransactionImportService transactionImportService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Long userId;
+    private List<Long> expectedIds;
+    
+    @BeforeAll
+    void seed() {
+        userId = seedUser("Main, Checking", "Food \"Fresh\"", ROW_COUNT);
+        // Someone else's history must never leak into the export
+        seedUser("Other", "Other", 3);
+        expectedIds = jdbcTemplate.queryForList("SELECT transaction_id FROM transaction WHERE user_id = ? "
+                + "ORDER BY transaction_date DESC, transaction_id DESC", Long.class, userId);
+    }
+    
+    @Test
+    void csvExportStreamsEveryRowEscaped() throws Exception {
+        MvcResult result = export("csv");
+        assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+        
+        List<List<String>> records = csvRecords(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        assertThat(String.join(",", records.get(0))).isEqualTo(TransactionExportService.CSV_HEADER);
+        List<List<String>> rows = records.subList(1, records.size());
+        assertThat(rows).extracting(row -> Long.valueOf(row.get(0))).containsExactlyElementsOf(expectedIds);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row).hasSize(10);
+            assertThat(row.get(2)).isEqualTo("Main, Checking");
+            assertThat(row.get(4)).isEqualTo("Food \"Fresh\"");
+        });
+        
+        // Raw output: fields with commas, quotes or line breaks are quoted, quotes doubled
+        String raw = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(raw).contains(",\"Main, Checking\",", ",\"Food \"\"Fresh\"\"\",",
+                ",\"Lunch, \"\"team\"\"\",", ",\"line one\nline two\",");
+        assertThat(rows).extracting(row -> row.get(8))
+                .contains("Lunch, \"team\"", "line one\nline two", "")
+                .doesNotContain("not mine");
+    }
+    
+    @Test
+    void ndjsonExportStreamsOneObjectPerLine() throws Exception {
+        MvcResult result = export("ndjson");
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+        
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            // Exactly one object per line, nothing around it
+            assertThat(line).startsWith("{").endsWith("}");
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).extracting(node -> node.get("transactionId").asLong()).containsExactlyElementsOf(expectedIds);
+        assertThat(lines).allSatisfy(node -> {
+            assertThat(node.get("accountName").asText()).isEqualTo("Main, Checking");
+            assertThat(node.get("categoryName").asText()).isEqualTo("Food \"Fresh\"");
+        });
+        assertThat(lines).extracting(node -> node.path("description").asText(null))
+                .contains("Lunch, \"team\"", "line one\nline two", null)
+                .doesNotContain("not mine");
+    }
+    
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                        .param("format", "xml").header("userId", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Export format must be csv or ndjson"));
+    }
+    
+    private MvcResult export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/transactions/export")
+                        .param("format", format).header("userId", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+    
+    // One account and category; every 100th row gets a description that needs escaping
+    private Long seedUser(String accountName, String categoryName, int rows) {
+        User user = userRepository.save(User.builder()
+                .name("Export").email("export-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build());
+        Long accountId = accountRepository.save(Account.builder()
+                .user(user).accountName(accountName).accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(BigDecimal.ZERO).build()).getAccountId();
+        Long categoryId = categoryRepository.save(Category.builder()
+                .user(user).name(categoryName).type(Category.CategoryType.EXPENSE).build()).getCategoryId();
+        
+        List<TransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            String description = rows < ROW_COUNT ? "not mine"
+                    : i % 100 == 1 ? "Lunch, \"team\""
+                    : i % 100 == 2 ? "line one\nline two"
+                    : i % 100 == 3 ? null
+                    : "Row " + i;
+            // Two rows per day, so the id tie-break decides part of the order
+            requests.add(new TransactionRequest(accountId, categoryId, new BigDecimal(i + 1).movePointLeft(2),
+                    "EXPENSE", description, START.plusDays(i / 2)));
+        }
+        transactionImportService.importTransactions(user.getUserId(), requests);
+        return user.getUserId();
+    }
+    
+    // Splits CSV text into records, keeping line breaks that fall inside quoted fields
+    private static List<List<String>> csvRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        StringBuilder record = new StringBuilder();
+        boolean quoted = false;
+        for (char c : csv.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            if (c == '\n' && !quoted) {
+                records.add(TransactionImportService.parseCsvLine(record.toString()));
+                record.setLength(0);
+            } else {
+                record.append(c);
+            }
+        }
+        assertThat(record).isEmpty();
+        return records;
+    }
+}
@@ -0,0 +1,270 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.BudgetRequest;
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.TransactionImportResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.BudgetRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import com.expensestracker.support.QueryCountingInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * JSON and CSV imports: the CSV parser, ownership checks, the row limit, and the netted
+ * balance, rollup, ledger and budget updates applied when a batch finishes.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class, properties = "transactions.import.max-rows=20")
+@ActiveProfiles("test")
+class TransactionImportTests {
+    
+    private static final LocalDate MONTH = LocalDate.now().withDayOfMonth(1);
+    
+    @Autowired
+    private TransactionImportService transactionImportService;
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private BudgetRepository budgetRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Long userId;
+    private Long checkingId;
+    private Long savingsId;
+    private Long groceriesId;
+    private Long salaryId;
+    
+    @BeforeEach
+    void seed() {
+        User user = user("importer");
+        userId = user.getUserId();
+        checkingId = account(user, "Checking", "1000.00").getAccountId();
+        savingsId = account(user, "Savings", "500.00").getAccountId();
+        groceriesId = category(user, "Groceries", Category.CategoryType.EXPENSE).getCategoryId();
+        salaryId = category(user, "Salary", Category.CategoryType.INCOME).getCategoryId();
+    }
+    
+    @Test
+    void csvLinesSplitOnUnquotedCommasOnly() {
+        assertThat(TransactionImportService.parseCsvLine("1,2,12.50,EXPENSE,2026-01-05,plain"))
+                .containsExactly("1", "2", "12.50", "EXPENSE", "2026-01-05", "plain");
+        assertThat(TransactionImportService.parseCsvLine("1,\"Milk, eggs\",\"He said \"\"hi\"\"\",,\"\""))
+                .containsExactly("1", "Milk, eggs", "He said \"hi\"", "", "");
+        assertThat(TransactionImportService.parseCsvLine("")).containsExactly("");
+    }
+    
+    @Test
+    void csvImportSkipsTheBomAndBlankLines() {
+        String csv = "\uFEFFaccountId,categoryId,amount,transactionType,transactionDate,description\n"
+                + "\n"
+                + checkingId + "," + groceriesId + ",12.50,expense," + MONTH + ",\"Milk, eggs\"\n"
+                + "   \n"
+                + savingsId + "," + salaryId + ",100.00,INCOME," + MONTH + ",\"Bonus \"\"Q1\"\"\"\n"
+                + "\n";
+        
+        TransactionImportResponse response = transactionImportService.importCsv(userId, stream(csv));
+        
+        assertThat(response.getImportedCount()).isEqualTo(2);
+        assertThat(response.getAccountsUpdated()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT description FROM transaction WHERE user_id = ? "
+                + "ORDER BY transaction_id", String.class, userId))
+                .containsExactly("Milk, eggs", "Bonus \"Q1\"");
+        assertThat(balance(checkingId)).isEqualByComparingTo("987.50");
+        assertThat(balance(savingsId)).isEqualByComparingTo("600.00");
+    }
+    
+    @Test
+    void malformedValuesRejectTheWholeFile() {
+        String header = "accountId,categoryId,amount,transactionType,transactionDate\n";
+        String good = checkingId + "," + groceriesId + ",10.00,EXPENSE," + MONTH + "\n";
+        
+        assertThatThrownBy(() -> transactionImportService.importCsv(userId, stream(header + good
+                + checkingId + "," + groceriesId + ",ten,EXPENSE," + MONTH + "\n")))
+                .hasMessageStartingWith("Row 2: malformed value");
+        assertThatThrownBy(() -> transactionImportService.importCsv(userId, stream(header + good
+                + checkingId + "," + groceriesId + ",10.00,EXPENSE,2026-02-30\n")))
+                .hasMessageStartingWith("Row 2: malformed value");
+        assertThatThrownBy(() -> transactionImportService.importCsv(userId, stream(header + good
+                + checkingId + "," + groceriesId + ",-5.00,EXPENSE," + MONTH + "\n")))
+                .hasMessage("Row 2: Amount must be greater than 0");
+        assertThatThrownBy(() -> transactionImportService.importCsv(userId,
+                stream("accountId,categoryId,amount,transactionDate\n" + good)))
+                .hasMessage("CSV header is missing column: transactiontype");
+        assertThatThrownBy(() -> transactionImportService.importCsv(userId, stream("")))
+                .hasMessage("CSV is empty");
+        
+        // The good first row of each file was rolled back with the rest
+        assertThat(transactionCount()).isZero();
+        assertThat(balance(checkingId)).isEqualByComparingTo("1000.00");
+    }
+    
+    @Test
+    void anotherUsersAccountOrCategoryIsRejected() {
+        User other = user("other");
+        Long otherAccountId = account(other, "Theirs", "50.00").getAccountId();
+        Long otherCategoryId = category(other, "Theirs", Category.CategoryType.EXPENSE).getCategoryId();
+        
+        assertThatThrownBy(() -> transactionImportService.importTransactions(userId, List.of(
+                request(checkingId, groceriesId, "5.00", "EXPENSE"),
+                request(otherAccountId, groceriesId, "5.00", "EXPENSE"))))
+                .hasMessage("Row 2: Account not found or access denied");
+        assertThatThrownBy(() -> transactionImportService.importTransactions(userId, List.of(
+                request(checkingId, otherCategoryId, "5.00", "EXPENSE"))))
+                .hasMessage("Row 1: Category not found");
+        
+        assertThat(transactionCount()).isZero();
+        assertThat(balance(otherAccountId)).isEqualByComparingTo("50.00");
+    }
+    
+    @Test
+    void balanceDeltasAreNettedAndAppliedOncePerAccount() {
+        List<TransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(request(checkingId, groceriesId, "10.00", "EXPENSE"));
+            requests.add(request(savingsId, salaryId, "25.00", "INCOME"));
+        }
+        
+        QueryCountingInspector.startCapture();
+        TransactionImportResponse response = transactionImportService.importTransactions(userId, requests);
+        List<String> statements = QueryCountingInspector.stopCapture();
+        
+        assertThat(response.getImportedCount()).isEqualTo(12);
+        assertThat(response.getAccountsUpdated()).isEqualTo(2);
+        assertThat(statements).filteredOn(sql -> sql.toLowerCase(Locale.ROOT).startsWith("update account"))
+                .hasSize(2);
+        assertThat(balance(checkingId)).isEqualByComparingTo("940.00");
+        assertThat(balance(savingsId)).isEqualByComparingTo("650.00");
+    }
+    
+    @Test
+    void importsOverTheRowLimitAreRejected() {
+        List<TransactionRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(request(checkingId, groceriesId, "1.00", "EXPENSE"));
+        }
+        assertThat(transactionImportService.importTransactions(userId, requests).getImportedCount()).isEqualTo(20);
+        
+        requests.add(request(checkingId, groceriesId, "1.00", "EXPENSE"));
+        assertThatThrownBy(() -> transactionImportService.importTransactions(userId, requests))
+                .hasMessage("Import exceeds the limit of 20 rows");
+        assertThat(transactionCount()).isEqualTo(20);
+        assertThat(balance(checkingId)).isEqualByComparingTo("980.00");
+    }
+    
+    @Test
+    void importUpdatesRollupsLedgerAndBudgets() {
+        BudgetRequest budgetRequest = new BudgetRequest();
+        budgetRequest.setCategoryId(groceriesId);
+        budgetRequest.setAmountLimit(new BigDecimal("100.00"));
+        budgetRequest.setStartDate(MONTH);
+        budgetRequest.setEndDate(MONTH.plusMonths(1).minusDays(1));
+        Long budgetId = budgetService.createBudget(userId, budgetRequest).getBudgetId();
+        
+        LocalDate lastMonth = MONTH.minusMonths(1);
+        transactionImportService.importTransactions(userId, List.of(
+                request(checkingId, groceriesId, "30.00", "EXPENSE", MONTH),
+                request(checkingId, groceriesId, "20.00", "EXPENSE", MONTH),
+                request(checkingId, salaryId, "200.00", "INCOME", MONTH),
+                request(checkingId, groceriesId, "15.00", "EXPENSE", lastMonth)));
+        
+        // One rollup row per category, month and type
+        List<Map<String, Object>> rollups = jdbcTemplate.queryForList("SELECT category_id, month_start, "
+                + "transaction_type, total_amount, transaction_count FROM monthly_rollup WHERE user_id = ? "
+                + "ORDER BY month_start, category_id", userId);
+        assertThat(rollups).extracting(row -> ((Number) row.get("category_id")).longValue(),
+                        row -> row.get("month_start").toString(), row -> row.get("transaction_type"),
+                        row -> new BigDecimal(row.get("total_amount").toString()).stripTrailingZeros().toPlainString(),
+                        row -> ((Number) row.get("transaction_count")).longValue())
+                .containsExactly(
+                        tuple(groceriesId, lastMonth.toString(), "EXPENSE", "15", 1L),
+                        tuple(groceriesId, MONTH.toString(), "EXPENSE", "50", 2L),
+                        tuple(salaryId, MONTH.toString(), "INCOME", "200", 1L));
+        
+        // One netted IMPORT ledger entry per account and day
+        List<Map<String, Object>> ledger = jdbcTemplate.queryForList("SELECT entry_date, amount_delta "
+                + "FROM balance_ledger WHERE account_id = ? AND entry_type = 'IMPORT' ORDER BY entry_date", checkingId);
+        assertThat(ledger).extracting(row -> row.get("entry_date").toString(),
+                        row -> new BigDecimal(row.get("amount_delta").toString()).stripTrailingZeros().toPlainString())
+                .containsExactly(
+                        tuple(lastMonth.toString(), "-15"),
+                        tuple(MONTH.toString(), "150"));
+        assertThat(balance(checkingId)).isEqualByComparingTo("1135.00");
+        
+        // Budget counter recomputed for the window: only this month's groceries
+        assertThat(budgetRepository.findById(budgetId).orElseThrow().getSpentAmount())
+                .isEqualByComparingTo("50.00");
+    }
+    
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .name(name).email(name + "-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build());
+    }
+    
+    private Account account(User user, String name, String balance) {
+        return accountRepository.save(Account.builder()
+                .user(user).accountName(name).accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(new BigDecimal(balance)).build());
+    }
+    
+    private Category category(User user, String name, Category.CategoryType type) {
+        return categoryRepository.save(Category.builder().user(user).name(name).type(type).build());
+    }
+    
+    private static TransactionRequest request(Long accountId, Long categoryId, String amount, String type) {
+        return request(accountId, categoryId, amount, type, MONTH);
+    }
+    
+    private static TransactionRequest request(Long accountId, Long categoryId, String amount, String type,
+                                              LocalDate date) {
+        return new TransactionRequest(accountId, categoryId, new BigDecimal(amount), type, null, date);
+    }
+    
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private BigDecimal balance(Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+    
+    private long transactionCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction WHERE user_id = ?", Long.class, userId);
+    }
+}
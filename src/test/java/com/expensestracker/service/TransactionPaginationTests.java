@@ -0,0 +1,231 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.TransactionRequest;
+import com.expensestracker.dto.response.TransactionPageResponse;
+import com.expensestracker.dto.response.TransactionResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.Account;
+import com.expensestracker.model.Category;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.AccountRepository;
+import com.expensestracker.repository.CategoryRepository;
+import com.expensestracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pagination over (transactionDate, transactionId): page walks, the last-page boundary,
+ * page-size clamping, and cursors that were never issued by the server.
+ */
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionPaginationTests {
+    
+    private static final LocalDate SAME_DAY = LocalDate.of(2025, 6, 15);
+    private static final int ROWS = 10;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    private Long userId;
+    private Long accountId;
+    private Long categoryId;
+    // Every row, newest first: the order all pages must follow
+    private List<Long> expected;
+    
+    // Seven rows on one day (only the id orders them) and three on the day before
+    @BeforeEach
+    void seed() {
+        userId = user();
+        List<Long> sameDay = new ArrayList<>();
+        List<Long> dayBefore = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            if (i % 3 == 2 && dayBefore.size() < 3) {
+                dayBefore.add(0, add(userId, SAME_DAY.minusDays(1)));
+            } else {
+                sameDay.add(0, add(userId, SAME_DAY));
+            }
+        }
+        expected = new ArrayList<>(sameDay);
+        expected.addAll(dayBefore);
+    }
+    
+    @Test
+    void pagesWalkSameDateRowsInIdOrderWithoutGapsOrRepeats() {
+        assertThat(walk(3)).containsExactlyElementsOf(expected);
+        assertThat(walk(1)).containsExactlyElementsOf(expected);
+        assertThat(walk(4)).containsExactlyElementsOf(expected);
+    }
+    
+    @Test
+    void rowsInsertedMidWalkDoNotShiftLaterPages() {
+        TransactionPageResponse first = transactionService.getUserTransactionsPage(userId, null, 4);
+        // Same date as the cursor, newer id: sorts before it, so it belongs to pages already read
+        add(userId, SAME_DAY);
+        
+        List<Long> seen = ids(first);
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            TransactionPageResponse page = transactionService.getUserTransactionsPage(userId, cursor, 4);
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+        }
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+    
+    @Test
+    void lastPageHasNoCursorWhenRowsEqualThePageSize() {
+        TransactionPageResponse all = transactionService.getUserTransactionsPage(userId, null, ROWS);
+        assertThat(ids(all)).containsExactlyElementsOf(expected);
+        assertThat(all.isHasMore()).isFalse();
+        assertThat(all.getNextCursor()).isNull();
+        
+        TransactionPageResponse first = transactionService.getUserTransactionsPage(userId, null, ROWS / 2);
+        assertThat(first.isHasMore()).isTrue();
+        TransactionPageResponse second = transactionService.getUserTransactionsPage(
+                userId, first.getNextCursor(), ROWS / 2);
+        assertThat(ids(second)).containsExactlyElementsOf(expected.subList(ROWS / 2, ROWS));
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        
+        TransactionPageResponse oneShort = transactionService.getUserTransactionsPage(userId, null, ROWS - 1);
+        assertThat(oneShort.isHasMore()).isTrue();
+        assertThat(ids(transactionService.getUserTransactionsPage(userId, oneShort.getNextCursor(), ROWS - 1)))
+                .containsExactly(expected.get(ROWS - 1));
+    }
+    
+    @Test
+    void pageSizeIsClampedToOneThroughTwoHundred() throws Exception {
+        assertThat(transactionService.getUserTransactionsPage(userId, null, 0).getSize()).isEqualTo(1);
+        assertThat(transactionService.getUserTransactionsPage(userId, null, -5).getTransactions()).hasSize(1);
+        assertThat(transactionService.getUserTransactionsPage(userId, null, Integer.MIN_VALUE).getSize()).isEqualTo(1);
+        assertThat(transactionService.getUserTransactionsPage(userId, null, null).getSize())
+                .isEqualTo(TransactionService.DEFAULT_PAGE_SIZE);
+        
+        // More rows than the cap, so the clamped page is full and has a successor
+        for (int i = 0; i < TransactionService.MAX_PAGE_SIZE; i++) {
+            add(userId, SAME_DAY.minusDays(2));
+        }
+        TransactionPageResponse capped = transactionService.getUserTransactionsPage(userId, null, 500);
+        assertThat(capped.getSize()).isEqualTo(TransactionService.MAX_PAGE_SIZE);
+        assertThat(capped.getTransactions()).hasSize(TransactionService.MAX_PAGE_SIZE);
+        assertThat(capped.isHasMore()).isTrue();
+        assertThat(transactionService.getUserTransactionsPage(userId, null, Integer.MAX_VALUE).getSize())
+                .isEqualTo(TransactionService.MAX_PAGE_SIZE);
+        
+        mockMvc.perform(get("/api/transactions/page").param("size", "1000").header("userId", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.size").value(TransactionService.MAX_PAGE_SIZE));
+    }
+    
+    @Test
+    void malformedOrTamperedCursorsAreRejectedWith400() throws Exception {
+        String valid = transactionService.getUserTransactionsPage(userId, null, 3).getNextCursor();
+        List<String> bad = List.of(
+                "not a cursor!",
+                valid.substring(0, valid.length() - 3) + "***",
+                encode("garbage"),
+                encode("2025-06-15"),
+                encode("2025-06-15:"),
+                encode("2025-06-15:abc"),
+                encode("2025-13-40:5"),
+                encode(":5"));
+        for (String cursor : bad) {
+            assertThatThrownBy(() -> TransactionCursor.decode(cursor)).hasMessage("Invalid cursor");
+            mockMvc.perform(get("/api/transactions/page").param("cursor", cursor).header("userId", userId))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.message").value("Invalid cursor"));
+        }
+    }
+    
+    @Test
+    void forgedCursorsOnlyEverReturnTheCallersRows() throws Exception {
+        Long otherUserId = user();
+        Long othersRow = add(otherUserId, SAME_DAY.plusDays(1));
+        
+        // Well-formed but never issued: positions past someone else's row still list only our own
+        String forged = new TransactionCursor(SAME_DAY.plusDays(1), othersRow + 1).encode();
+        assertThat(ids(transactionService.getUserTransactionsPage(userId, forged, 50)))
+                .containsExactlyElementsOf(expected);
+        mockMvc.perform(get("/api/transactions/page").param("cursor", forged).header("userId", otherUserId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.transactions.length()").value(1))
+                .andExpect(jsonPath("$.data.transactions[0].transactionId").value(othersRow));
+        
+        String beforeEverything = new TransactionCursor(LocalDate.of(1970, 1, 1), 1L).encode();
+        TransactionPageResponse empty = transactionService.getUserTransactionsPage(userId, beforeEverything, 50);
+        assertThat(empty.getTransactions()).isEmpty();
+        assertThat(empty.isHasMore()).isFalse();
+    }
+    
+    private List<Long> walk(int size) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageResponse page = transactionService.getUserTransactionsPage(userId, cursor, size);
+            assertThat(page.getTransactions()).hasSizeLessThanOrEqualTo(size);
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+        return seen;
+    }
+    
+    private static List<Long> ids(TransactionPageResponse page) {
+        return new ArrayList<>(page.getTransactions().stream().map(TransactionResponse::getTransactionId).toList());
+    }
+    
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private Long user() {
+        User user = userRepository.save(User.builder()
+                .name("Pages").email("pages-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build());
+        accountId = accountRepository.save(Account.builder()
+                .user(user).accountName("Checking").accountType(Account.AccountType.BANK_ACCOUNT)
+                .balance(BigDecimal.ZERO).build()).getAccountId();
+        categoryId = categoryRepository.save(Category.builder()
+                .user(user).name("Groceries").type(Category.CategoryType.EXPENSE).build()).getCategoryId();
+        return user.getUserId();
+    }
+    
+    private Long add(Long owner, LocalDate date) {
+        return transactionService.addTransaction(owner, new TransactionRequest(accountId, categoryId,
+                new BigDecimal("1.00"), "EXPENSE", null, date)).getTransactionId();
+    }
+}
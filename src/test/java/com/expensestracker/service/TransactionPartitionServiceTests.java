@@ -0,0 +1,165 @@
+package com.expensestracker.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionPartitionServiceTests {
+    
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    
+    @Test
+    void laterRunsOnlyAddMonthsBeyondTheLastPartition() {
+        List<LocalDate> existing = List.of(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1));
+        
+        assertThat(TransactionPartitionService.missingBoundaries(existing, TODAY, 2))
+                .containsExactly(LocalDate.of(2027, 1, 1));
+        assertThat(TransactionPartitionService.missingBoundaries(existing, TODAY, 1)).isEmpty();
+        assertThat(TransactionPartitionService.partitionName(LocalDate.of(2027, 1, 1))).isEqualTo("p_202612");
+    }
+    
+    @Test
+    void maintainSplitsMissingMonthsUnderTheNamedLock() {
+        JdbcOperations jdbc = lockedJdbc(true, "'2026-10-01'", "'2026-11-01'", "MAXVALUE");
+        
+        new TransactionPartitionService(mock(JdbcTemplate.class), 2, 0).maintain(jdbc, TODAY);
+        
+        // Bounds are read after the lock is taken, and the lock is released at the end
+        InOrder order = inOrder(jdbc);
+        order.verify(jdbc).queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, TransactionPartitionService.LOCK_NAME);
+        order.verify(jdbc).queryForList(anyString(), eq(String.class));
+        order.verify(jdbc).execute("ALTER TABLE transaction REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p_202611 VALUES LESS THAN ('2026-12-01'), "
+                + "PARTITION p_202612 VALUES LESS THAN ('2027-01-01'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+        order.verify(jdbc).queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, TransactionPartitionService.LOCK_NAME);
+    }
+    
+    @Test
+    void maintainArchivesExpiredMonthsAndAddsNothingWhenCovered() {
+        JdbcOperations jdbc = lockedJdbc(true, "'2026-08-01'", "'2026-09-01'", "'2026-10-01'",
+                "'2026-11-01'", "'2026-12-01'", "'2027-01-01'", "MAXVALUE");
+        
+        new TransactionPartitionService(mock(JdbcTemplate.class), 2, 2).maintain(jdbc, TODAY);
+        
+        verify(jdbc, never()).execute(startsWith("ALTER TABLE transaction REORGANIZE"));
+        InOrder order = inOrder(jdbc);
+        order.verify(jdbc).execute("CREATE TABLE transaction_archive_202607 LIKE transaction");
+        order.verify(jdbc).execute("ALTER TABLE transaction_archive_202607 REMOVE PARTITIONING");
+        order.verify(jdbc).execute("ALTER TABLE transaction EXCHANGE PARTITION p_202607 WITH TABLE transaction_archive_202607");
+        order.verify(jdbc).execute("ALTER TABLE transaction DROP PARTITION p_202607");
+        order.verify(jdbc).execute("CREATE TABLE transaction_archive_202608 LIKE transaction");
+        verify(jdbc, never()).execute("CREATE TABLE transaction_archive_202609 LIKE transaction");
+    }
+    
+    @Test
+    void maintainSkipsWhileAnotherInstanceHoldsTheLock() {
+        JdbcOperations jdbc = lockedJdbc(false, "'2026-10-01'", "MAXVALUE");
+        
+        new TransactionPartitionService(mock(JdbcTemplate.class), 2, 0).maintain(jdbc, TODAY);
+        
+        verify(jdbc, never()).queryForList(anyString(), eq(String.class));
+        verify(jdbc, never()).execute(anyString());
+        verify(jdbc, never()).queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, TransactionPartitionService.LOCK_NAME);
+    }
+    
+    @Test
+    void maintainNeverSplitsHistoryOutOfTheCatchAllPartition() {
+        JdbcOperations jdbc = lockedJdbc(true, "MAXVALUE");
+        
+        new TransactionPartitionService(mock(JdbcTemplate.class), 2, 0).maintain(jdbc, TODAY);
+        
+        verify(jdbc, never()).execute(anyString());
+        verify(jdbc).queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, TransactionPartitionService.LOCK_NAME);
+    }
+    
+    @Test
+    void orphanedTransactionsAreDeletedInBatchesUnderTheLock() {
+        JdbcOperations jdbc = lockedJdbc(true, "'2026-10-01'", "'2026-11-01'", "'2026-12-01'", "MAXVALUE");
+        int batch = TransactionPartitionService.ORPHAN_BATCH_SIZE;
+        when(jdbc.update(TransactionPartitionService.DELETE_ORPHANS_SQL)).thenReturn(batch, batch, 7);
+        
+        new TransactionPartitionService(mock(JdbcTemplate.class), 1, 0).maintain(jdbc, TODAY);
+        
+        InOrder order = inOrder(jdbc);
+        order.verify(jdbc).queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, TransactionPartitionService.LOCK_NAME);
+        order.verify(jdbc, times(3)).update(TransactionPartitionService.DELETE_ORPHANS_SQL);
+        order.verify(jdbc).queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, TransactionPartitionService.LOCK_NAME);
+        
+        JdbcOperations busy = lockedJdbc(false, "'2026-10-01'", "MAXVALUE");
+        new TransactionPartitionService(mock(JdbcTemplate.class), 1, 0).maintain(busy, TODAY);
+        verify(busy, never()).update(anyString());
+    }
+    
+    @Test
+    void failuresAreLoggedInsteadOfFailingStartup() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doThrow(new DataAccessResourceFailureException("Duplicate partition name p_202611"))
+                .when(jdbcTemplate).execute(ArgumentMatchers.<ConnectionCallback<Void>>any());
+        
+        new TransactionPartitionService(jdbcTemplate, 2, 0).maintain();
+    }
+    
+    @Test
+    void lockIsReleasedWhenDdlFails() {
+        JdbcOperations jdbc = lockedJdbc(true, "'2026-10-01'", "MAXVALUE");
+        doThrow(new DataAccessResourceFailureException("Duplicate partition name"))
+                .when(jdbc).execute(anyString());
+        
+        try {
+            new TransactionPartitionService(mock(JdbcTemplate.class), 2, 0).maintain(jdbc, TODAY);
+        } catch (RuntimeException expected) {
+            // surfaces to maintain(), which logs it
+        }
+        verify(jdbc).queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, TransactionPartitionService.LOCK_NAME);
+    }
+    
+    @Test
+    void reorganizeSplitsMonthsOffTheCatchAllPartition() {
+        String sql = TransactionPartitionService.reorganizeSql(
+                List.of(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1)));
+        
+        assertThat(sql).isEqualTo("ALTER TABLE transaction REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p_202610 VALUES LESS THAN ('2026-11-01'), "
+                + "PARTITION p_202611 VALUES LESS THAN ('2026-12-01'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+    }
+    
+    @Test
+    void retentionExpiresOnlyMonthsBeforeTheWindow() {
+        List<LocalDate> existing = List.of(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1),
+                LocalDate.of(2026, 9, 1), LocalDate.of(2026, 10, 1), LocalDate.of(2026, 11, 1));
+        
+        // Keep October, September and August; June and July go
+        assertThat(TransactionPartitionService.expiredBoundaries(existing, TODAY, 3))
+                .containsExactly(LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1));
+    }
+    
+    // JDBC stub: GET_LOCK returns 1 or 0 and the partition table lists the given descriptions
+    private static JdbcOperations lockedJdbc(boolean acquired, String... descriptions) {
+        JdbcOperations jdbc = mock(JdbcOperations.class);
+        when(jdbc.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, TransactionPartitionService.LOCK_NAME))
+                .thenReturn(acquired ? 1 : 0);
+        when(jdbc.queryForList(anyString(), eq(String.class))).thenReturn(List.of(descriptions));
+        return jdbc;
+    }
+}
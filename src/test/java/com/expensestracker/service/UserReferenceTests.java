@@ -0,0 +1,70 @@
+package com.expensestracker.service;
+
+import com.expensestracker.dto.request.AccountRequest;
+import com.expensestracker.dto.request.BudgetRequest;
+import com.expensestracker.dto.request.CategoryRequest;
+import com.expensestracker.dto.response.CategoryResponse;
+import com.expensestracker.expenses_tracker_api.ExpensesTrackerApiApplication;
+import com.expensestracker.model.User;
+import com.expensestracker.repository.UserRepository;
+import com.expensestracker.support.QueryCountingInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ExpensesTrackerApiApplication.class)
+@ActiveProfiles("test")
+class UserReferenceTests {
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Test
+    void writesWithAKnownUserDoNotReadUsers() {
+        Long userId = userRepository.save(User.builder()
+                .name("Reference").email("reference-" + UUID.randomUUID() + "@example.com")
+                .password("not-a-real-hash").build()).getUserId();
+        // First sight of the id: one primary-key existence check
+        accountService.createAccount(userId, new AccountRequest("Checking", "BANK_ACCOUNT", new BigDecimal("10.00")));
+        
+        QueryCountingInspector.startCapture();
+        accountService.createAccount(userId, new AccountRequest("Cash", "CASH", BigDecimal.ZERO));
+        CategoryResponse category = categoryService.createCategory(userId, new CategoryRequest("Pets", "EXPENSE"));
+        budgetService.createBudget(userId, new BudgetRequest(category.getCategoryId(), new BigDecimal("50.00"),
+                LocalDate.now().withDayOfMonth(1), LocalDate.now()));
+        List<String> statements = QueryCountingInspector.stopCapture();
+        
+        assertThat(statements).isNotEmpty();
+        assertThat(statements).noneMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("users"));
+    }
+    
+    @Test
+    void unknownUserIsRejected() {
+        assertThatThrownBy(() -> userService.getUserReference(-1L))
+                .hasMessage("User not found with ID: -1");
+        assertThatThrownBy(() -> accountService.createAccount(-1L, new AccountRequest("Cash", "CASH", BigDecimal.ZERO)))
+                .hasMessage("User not found with ID: -1");
+    }
+}
@@ -0,0 +1,50 @@
+package com.expensestracker.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate statement inspector that counts every SQL statement prepared through the
+ * session factory. Registered by the test profile; tests reset it before the request
+ * under test and read it afterwards. Between {@link #startCapture()} and
+ * {@link #stopCapture()} the SQL text itself is kept as well.
+ */
+public class QueryCountingInspector implements StatementInspector {
+    
+    private static final AtomicLong COUNT = new AtomicLong();
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+    
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        if (capturing) {
+            CAPTURED.add(sql);
+        }
+        return sql;
+    }
+    
+    public static void reset() {
+        COUNT.set(0);
+    }
+    
+    public static long count() {
+        return COUNT.get();
+    }
+    
+    public static void startCapture() {
+        CAPTURED.clear();
+        capturing = true;
+    }
+    
+    public static List<String> stopCapture() {
+        capturing = false;
+        List<String> statements = new ArrayList<>(CAPTURED);
+        CAPTURED.clear();
+        return statements;
+    }
+}
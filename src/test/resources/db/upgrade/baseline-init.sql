@@ -0,0 +1,88 @@
+-- The original init.sql (baseline commit) as an H2-runnable script: the same five tables and
+-- indexes, with its sample rows written under explicit ids. SchemaUpgradeTests starts from
+-- this to check that a pre-migration database upgrades cleanly.
+
+-- Create users table
+CREATE TABLE IF NOT EXISTS users (
+    user_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(150) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create account table
+CREATE TABLE IF NOT EXISTS account (
+    account_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    account_name VARCHAR(100) NOT NULL,
+    account_type VARCHAR(50) NOT NULL COMMENT 'Supported values: BANK_ACCOUNT, CASH, BANK, GCASH, WALLET, SAVINGS, E_WALLET, CREDIT_CARD, DEBIT_CARD',
+    balance DECIMAL(15,2) NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create category table
+CREATE TABLE IF NOT EXISTS category (
+    category_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT,
+    name VARCHAR(100) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    classification VARCHAR(20),
+    icon VARCHAR(50),
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create transaction table
+CREATE TABLE IF NOT EXISTS transaction (
+    transaction_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    transaction_date DATE NOT NULL,
+    description VARCHAR(255),
+    FOREIGN KEY (account_id) REFERENCES account(account_id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES category(category_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Create budget table
+CREATE TABLE IF NOT EXISTS budget (
+    budget_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    amount_limit DECIMAL(15,2) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES category(category_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO users (user_id, name, email, password, created_at)
+VALUES (1, 'Admin User', 'admin@example.com', '$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcg7b3XeKeUxWdeS86E36gBsZ34', NOW());
+
+INSERT INTO account (account_id, user_id, account_name, account_type, balance, created_at)
+VALUES
+    (1, 1, 'Checking Account', 'BANK', 5000.00, NOW()),
+    (2, 1, 'Cash', 'CASH', 500.00, NOW());
+
+INSERT INTO category (category_id, user_id, name, type, classification, icon)
+VALUES
+    (1, NULL, 'Salary', 'INCOME', 'NEED', NULL),
+    (2, NULL, 'Groceries', 'EXPENSE', 'NEED', NULL);
+
+INSERT INTO transaction (transaction_id, account_id, category_id, amount, transaction_date, description)
+VALUES
+    (1, 1, 1, 3000.00, CURRENT_DATE, 'Monthly salary'),
+    (2, 1, 2, 150.00, DATEADD('DAY', -5, CURRENT_DATE), 'Weekly groceries');
+
+INSERT INTO budget (budget_id, user_id, category_id, amount_limit, start_date, end_date)
+VALUES (1, 1, 2, 500.00, DATEADD('DAY', -30, CURRENT_DATE), DATEADD('DAY', 30, CURRENT_DATE));
+
+-- Create indexes for better query performance
+CREATE INDEX idx_account_user ON account(user_id);
+CREATE INDEX idx_category_user ON category(user_id);
+CREATE INDEX idx_transaction_account ON transaction(account_id);
+CREATE INDEX idx_transaction_category ON transaction(category_id);
+CREATE INDEX idx_transaction_date ON transaction(transaction_date);
+CREATE INDEX idx_budget_user ON budget(user_id);
+CREATE INDEX idx_budget_category ON budget(category_id);